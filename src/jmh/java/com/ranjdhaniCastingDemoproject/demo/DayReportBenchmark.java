@@ -0,0 +1,114 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole end-of-day report from a real ledger file, up to a 10k-truck day. Runs in a 256 MB
+ * heap on purpose: if memory grew with the slip count the 10k case would fail rather than
+ * just be slow. {@code peakHeapMb} is the sum of the heap pools' peaks during the run (an
+ * upper bound on what was live).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class DayReportBenchmark {
+
+    @Param({"1000", "10000"})
+    public int slips;
+
+    private Path dir;
+    private Path ledgerFile;
+    private DayReport report;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Heap {
+        public long peakHeapMb;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            for (MemoryPoolMXBean p : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (p.getType() == MemoryType.HEAP) p.resetPeakUsage();
+            }
+        }
+
+        void record() {
+            long peak = 0;
+            for (MemoryPoolMXBean p : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (p.getType() == MemoryType.HEAP) peak += p.getPeakUsage().getUsed();
+            }
+            peakHeapMb = peak >> 20;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("day-report-bench");
+        Random rnd = new Random(42);
+        long now = System.currentTimeMillis();
+
+        try (SlipLedger ledger = new SlipLedger(dir, ZoneId.systemDefault(), false)) {
+            for (int i = 0; i < slips; i++) {
+                int rows = 2 + rnd.nextInt(6);
+                List<String> raw = new ArrayList<>(rows);
+                List<String> qualities = new ArrayList<>(rows + 1);
+                long sum = 0;
+                for (int r = 0; r < rows; r++) {
+                    int kg = 200 + rnd.nextInt(700);
+                    sum += kg;
+                    raw.add(String.valueOf(kg));
+                    qualities.add(String.valueOf(rnd.nextInt(400)));
+                }
+                qualities.add("");
+                Slip slip = SlipCalculator.calculate(new SlipInput("RJ14GB" + (1000 + i % 400),
+                        String.valueOf(sum + 1_500), raw, "42,000", "1,500", qualities, "1.5", "3,200"));
+                ledger.append(slip, now);
+            }
+            ledgerFile = ledger.currentFile();
+        }
+        report = new DayReport(new SlipPdfRenderer(), ZoneId.systemDefault());
+    }
+
+    @Benchmark
+    public int writeReport(Heap heap) throws IOException {
+        int n = report.write("bench", DayReport.of(ledgerFile), dir.resolve("report.pdf"));
+        heap.record();
+        return n;
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) Files.deleteIfExists(p);
+        }
+        Files.deleteIfExists(dir);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.DecimalFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed-point parse/format against the old safeParse + DecimalFormat path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FixedBenchmark {
+
+    private final String text = "1,23,456.75";
+    private final long paise = 12_345_675L;
+    private final DecimalFormat moneyFmt = new DecimalFormat("#,##0");
+    private final StringBuilder sb = new StringBuilder(32);
+
+    @Benchmark
+    public long parseFixed() {
+        return Fixed.parseMoney(text);
+    }
+
+    @Benchmark
+    public double parseDouble() {
+        try { return Double.parseDouble(text.trim().replace(",", "")); } catch (Exception e) { return 0; }
+    }
+
+    @Benchmark
+    public StringBuilder formatFixedInto() {
+        sb.setLength(0);
+        return Fixed.appendGrouped(sb, Fixed.roundWhole(paise, Fixed.MONEY));
+    }
+
+    @Benchmark
+    public String formatFixed() {
+        return Fixed.formatMoney(paise);
+    }
+
+    @Benchmark
+    public String formatDecimalFormat() {
+        return moneyFmt.format(paise / 100.0);
+    }
+}
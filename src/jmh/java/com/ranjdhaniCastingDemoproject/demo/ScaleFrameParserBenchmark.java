@@ -0,0 +1,30 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one indicator frame through the parser. A scale line tops out around a few
+ * hundred frames a second, so anything in the nanoseconds leaves the reader thread idle.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScaleFrameParserBenchmark {
+
+    private final byte[] frame = "ST,GS,+  12345.0kg\r\n".getBytes(StandardCharsets.US_ASCII);
+    private final ScaleFrameParser parser = new ScaleFrameParser(Fixed.GRAMS_PER_KG);
+
+    @Benchmark
+    public long parseFrame() {
+        for (byte b : frame) parser.feed(b);
+        return parser.grams();
+    }
+}
@@ -0,0 +1,94 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-truck cost of the slip math, from a light load to a mixed-scrap truck with
+ * hundreds of lines. Sub-weights are 200-900 kg with an occasional blank entry so
+ * the remainder allocation is exercised.
+ * <p>
+ * The keystroke pair compares what one edit costs: {@code calculate} re-parses the whole
+ * slip, while {@link SlipForm} reprices from cached values (every row for a base price,
+ * one row for a quality).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SlipCalculatorBenchmark {
+
+    @Param({"2", "10", "50", "500"})
+    public int subweights;
+
+    private SlipInput input;
+    private List<String> raw;
+    private long mainGrams;
+    private SlipForm form;
+    private long tick;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(42);
+        raw = new ArrayList<>(subweights);
+        List<String> qualities = new ArrayList<>(subweights + 1);
+        long sum = 0;
+
+        for (int i = 0; i < subweights; i++) {
+            if (i == 1) {
+                raw.add("");
+            } else {
+                int kg = 200 + rnd.nextInt(700);
+                sum += kg;
+                raw.add(String.valueOf(kg));
+            }
+            qualities.add(String.valueOf(rnd.nextInt(400) - 100));
+        }
+        qualities.add("");
+        long mainKg = sum + 1_500;
+        mainGrams = mainKg * Fixed.GRAMS_PER_KG;
+
+        input = new SlipInput("RJ14GB1234", String.valueOf(mainKg), raw,
+                "42,000", "1,500", qualities, "1.5", "3,200");
+
+        form = new SlipForm();
+        form.finishSubweights(String.valueOf(mainKg), raw);
+        form.setPrice1(Fixed.parseMoney("42,000"));
+        form.setPrice2(Fixed.parseMoney("1,500"));
+        for (int i = 0; i < subweights; i++) form.setQuality(i, Fixed.parseMoney(qualities.get(i)));
+    }
+
+    @Benchmark
+    public long[] allocate() {
+        return SlipCalculator.allocate(mainGrams, raw);
+    }
+
+    @Benchmark
+    public Slip calculate() {
+        return SlipCalculator.calculate(input);
+    }
+
+    @Benchmark
+    public long keystrokePrice() {
+        form.setPrice1(4_200_000 + (tick++ & 1));
+        form.drainDirtyRows(i -> { });
+        return form.total();
+    }
+
+    @Benchmark
+    public long keystrokeQuality() {
+        form.setQuality(0, 100 + (tick++ & 1));
+        form.drainDirtyRows(i -> { });
+        return form.total();
+    }
+}
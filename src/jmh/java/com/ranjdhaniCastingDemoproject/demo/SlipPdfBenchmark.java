@@ -0,0 +1,57 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to turn one priced slip into PDF bytes, the part of PRINT that runs before the
+ * printer sees anything.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SlipPdfBenchmark {
+
+    @Param({"3", "20", "60"})
+    public int subweights;
+
+    private SlipPdfRenderer renderer;
+    private Slip slip;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+
+    @Setup
+    public void setup() {
+        renderer = new SlipPdfRenderer();
+        List<String> raw = new ArrayList<>();
+        List<String> qualities = new ArrayList<>();
+        for (int i = 0; i < subweights; i++) {
+            raw.add(String.valueOf(300 + i * 7));
+            qualities.add(String.valueOf(i % 5 * 50));
+        }
+        qualities.add("");
+        slip = SlipCalculator.calculate(new SlipInput("RJ14GB1234", "60000", raw,
+                "42000", "1500", qualities, "1.5", "3200"));
+    }
+
+    @Benchmark
+    public int renderAndSave() throws IOException {
+        out.reset();
+        try (PDDocument doc = renderer.render(slip)) {
+            doc.save(out);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,27 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Where the app keeps its files. Defaults to {@code ~/.rajdhani}; override with
+ * {@code -Drajdhani.dataDir=...} (handy for pointing a test run at a scratch folder).
+ */
+final class DataDirs {
+
+    private DataDirs() {
+    }
+
+    static Path root() {
+        String dir = System.getProperty("rajdhani.dataDir");
+        if (dir != null && !dir.isBlank()) return Paths.get(dir);
+        return Paths.get(System.getProperty("user.home"), ".rajdhani");
+    }
+
+    /** A sub-directory of {@link #root()}, created if missing. */
+    static Path dir(String name) throws IOException {
+        return Files.createDirectories(root().resolve(name));
+    }
+}
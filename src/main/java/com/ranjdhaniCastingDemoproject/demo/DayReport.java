@@ -0,0 +1,309 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.util.Matrix;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * End-of-day PDF: a summary, a table with one line per slip, then every slip drawn with the
+ * print layout ({@link SlipPdfRenderer#draw}), packed down the pages. A slip taller than a
+ * page carries on over the next ones; its totals come with its last rows.
+ * <p>
+ * Memory stays flat however many trucks there were. The ledger is read once per section
+ * instead of being held in memory, and the document buffers in a scratch file
+ * ({@link MemoryUsageSetting#setupTempFileOnly()}). Each page's content stream is closed
+ * (and so spilled to that file) as soon as the page is full. All pages share one resources
+ * dictionary, so Helvetica is a single font object in the file.
+ * <pre>
+ *   java -jar app.jar --report [YYYY-MM-DD] [--out report.pdf]
+ * </pre>
+ */
+final class DayReport {
+
+    /** Something that can be walked more than once, in slip order (a day's ledger file). */
+    @FunctionalInterface
+    interface Entries {
+        void forEach(Consumer<LedgerEntry> sink) throws IOException;
+    }
+
+    private static final float MARGIN = 40f;
+    private static final float TITLE_SIZE = 16f;
+    private static final float SUMMARY_SIZE = 11f;
+    private static final float TABLE_SIZE = 8.5f;
+    private static final float TABLE_LINE = 12f;
+    private static final float SLIP_GAP = 22f;
+
+    // table columns: left edge for text, right edge for figures
+    private static final float X_SEQ = 68f;
+    private static final float X_TIME = 76f;
+    private static final float X_TRUCK = 110f;
+    private static final float X_WEIGHT = 270f;
+    private static final float X_SUBTOTAL = 340f;
+    private static final float X_DISCOUNT = 368f;
+    private static final float X_TOTAL = 438f;
+    private static final float X_GST = 492f;
+    private static final float X_FINAL = 555f;
+
+    private final SlipPdfRenderer renderer;
+    private final PDType1Font font = PDType1Font.HELVETICA;
+    private final ZoneId zone;
+
+    DayReport(SlipPdfRenderer renderer, ZoneId zone) {
+        this.renderer = renderer;
+        this.zone = zone;
+    }
+
+    static Entries of(Path ledgerFile) {
+        return sink -> SlipLedger.read(ledgerFile, sink);
+    }
+
+    // ---------------- CLI ----------------
+
+    /** @return process exit code: 0 ok, 1 write failed, 2 bad arguments or no ledger for the day */
+    static int run(String[] args) {
+        LocalDate day = LocalDate.now();
+        Path out = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--out")) out = Paths.get(args[++i]);
+                else day = LocalDate.parse(args[i]);
+            }
+        } catch (DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("report: usage: --report [YYYY-MM-DD] [--out report.pdf]");
+            return 2;
+        }
+
+        try {
+            Path ledger = DataDirs.dir("ledger").resolve(SlipLedger.fileName(day));
+            if (!Files.isRegularFile(ledger)) {
+                System.err.println("report: no slips recorded on " + day);
+                return 2;
+            }
+            if (out == null) out = DataDirs.dir("reports").resolve("report-" + day + ".pdf");
+
+            long start = System.nanoTime();
+            int n = new DayReport(new SlipPdfRenderer(), ZoneId.systemDefault()).write(day.toString(), of(ledger), out);
+            System.out.printf(Locale.ROOT, "report: %d slips in %d ms -> %s%n", n, (System.nanoTime() - start) / 1_000_000, out);
+            return 0;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return 1;
+        }
+    }
+
+    // ---------------- Report ----------------
+
+    /** Writes the report to {@code out}; returns the number of slips in it. */
+    int write(String title, Entries entries, Path out) throws IOException {
+        Totals totals = new Totals();
+        entries.forEach(totals::add);
+
+        try (PDDocument doc = new PDDocument(MemoryUsageSetting.setupTempFileOnly())) {
+            Pages pages = new Pages(doc);
+            try {
+                summary(pages, title, totals);
+                table(pages, entries);
+                slips(pages, entries);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                pages.close();
+            }
+            doc.save(out.toFile());
+        }
+        return totals.count;
+    }
+
+    private void summary(Pages p, String title, Totals t) throws IOException {
+        p.newPage();
+        p.line(TITLE_SIZE, "Rajdhani Casting \u2013 day report " + title, MARGIN);
+        p.y -= 8f;
+
+        String[][] rows = {
+                { "Slips", Long.toString(t.count) },
+                { "Main weight (kg)", Fixed.formatWeight(t.mainGrams) },
+                { "Subtotal", Fixed.formatMoney(t.subtotal) },
+                { "Dust discount", Fixed.formatMoney(t.subtotal - t.total) },
+                { "Total", Fixed.formatMoney(t.total) },
+                { "GST", Fixed.formatMoney(t.gst) },
+                { "Final", Fixed.formatMoney(t.finalAmount) },
+        };
+        for (String[] r : rows) {
+            p.cs.beginText();
+            p.show(SUMMARY_SIZE, r[0], MARGIN, p.y - SUMMARY_SIZE);
+            p.showRight(SUMMARY_SIZE, r[1], 260f, p.y - SUMMARY_SIZE);
+            p.cs.endText();
+            p.y -= SUMMARY_SIZE + 5f;
+        }
+        p.y -= 16f;
+    }
+
+    private void table(Pages p, Entries entries) throws IOException {
+        tableHeader(p);
+        StringBuilder sb = new StringBuilder(8);
+        entries.forEach(e -> {
+            try {
+                if (p.y - TABLE_LINE < MARGIN) {
+                    p.newPage();
+                    tableHeader(p);
+                }
+                float base = p.y - TABLE_SIZE;
+                p.cs.beginText();
+                p.showRight(TABLE_SIZE, Long.toString(e.sequence()), X_SEQ, base);
+                p.show(TABLE_SIZE, time(sb, e.timestampMillis()), X_TIME, base);
+                p.show(TABLE_SIZE, e.truck(), X_TRUCK, base);
+                p.showRight(TABLE_SIZE, Fixed.formatWeight(e.mainGrams()), X_WEIGHT, base);
+                p.showRight(TABLE_SIZE, Fixed.formatMoney(e.subtotal()), X_SUBTOTAL, base);
+                p.show(TABLE_SIZE, e.discountBasisPoints() == 0 ? "-" : Fixed.toPlain(e.discountBasisPoints(), 2) + "%", X_DISCOUNT, base);
+                p.showRight(TABLE_SIZE, Fixed.formatMoney(e.total()), X_TOTAL, base);
+                p.showRight(TABLE_SIZE, Fixed.formatMoney(e.gst()), X_GST, base);
+                p.showRight(TABLE_SIZE, Fixed.formatMoney(e.finalAmount()), X_FINAL, base);
+                p.cs.endText();
+                p.y -= TABLE_LINE;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private void tableHeader(Pages p) throws IOException {
+        float base = p.y - TABLE_SIZE;
+        p.cs.beginText();
+        p.showRight(TABLE_SIZE, "#", X_SEQ, base);
+        p.show(TABLE_SIZE, "Time", X_TIME, base);
+        p.show(TABLE_SIZE, "Truck", X_TRUCK, base);
+        p.showRight(TABLE_SIZE, "Main kg", X_WEIGHT, base);
+        p.showRight(TABLE_SIZE, "Subtotal", X_SUBTOTAL, base);
+        p.show(TABLE_SIZE, "Disc", X_DISCOUNT, base);
+        p.showRight(TABLE_SIZE, "Total", X_TOTAL, base);
+        p.showRight(TABLE_SIZE, "GST", X_GST, base);
+        p.showRight(TABLE_SIZE, "Final", X_FINAL, base);
+        p.cs.endText();
+        p.y -= TABLE_LINE;
+
+        p.cs.setLineWidth(0.5f);
+        p.cs.moveTo(MARGIN, p.y + 2f);
+        p.cs.lineTo(X_FINAL, p.y + 2f);
+        p.cs.stroke();
+        p.y -= 2f;
+    }
+
+    private void slips(Pages p, Entries entries) throws IOException {
+        p.newPage();
+        StringBuilder sb = new StringBuilder(8);
+        entries.forEach(e -> {
+            try {
+                Slip slip = e.toSlip();
+                float h = TABLE_LINE + renderer.height(slip);
+                if (p.y - h < MARGIN) p.newPage();
+
+                // a slip taller than a page (hundreds of rows) goes down in parts, one per page
+                String label = "#" + e.sequence() + "  " + time(sb, e.timestampMillis());
+                int n = slip.rows().size();
+                for (int from = 0; ; ) {
+                    p.cs.beginText();
+                    p.show(TABLE_SIZE, from == 0 ? label : label + "  (cont.)", MARGIN, p.y - TABLE_SIZE);
+                    p.cs.endText();
+                    float top = p.y - TABLE_LINE;
+                    int to = renderer.rowsThatFit(slip, from, top - MARGIN);
+                    p.y = renderer.draw(p.cs, slip, top, from, to) - SLIP_GAP;
+                    if (to == n) break;
+                    p.newPage();
+                    from = to;
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private String time(StringBuilder sb, long millis) {
+        LocalTime t = Instant.ofEpochMilli(millis).atZone(zone).toLocalTime();
+        sb.setLength(0);
+        if (t.getHour() < 10) sb.append('0');
+        sb.append(t.getHour()).append(':');
+        if (t.getMinute() < 10) sb.append('0');
+        return sb.append(t.getMinute()).toString();
+    }
+
+    // ---------------- Page cursor ----------------
+    // One open content stream at a time; finishing a page closes it so PDFBox can spill it.
+    private final class Pages {
+        final PDDocument doc;
+        final PDResources shared = new PDResources();
+        PDPageContentStream cs;
+        float y;
+
+        Pages(PDDocument doc) {
+            this.doc = doc;
+        }
+
+        void newPage() throws IOException {
+            close();
+            PDPage page = new PDPage(SlipPdfRenderer.PAGE);
+            page.setResources(shared);
+            doc.addPage(page);
+            cs = new PDPageContentStream(doc, page);
+            y = SlipPdfRenderer.PAGE.getHeight() - MARGIN;
+        }
+
+        void line(float size, String s, float x) throws IOException {
+            cs.beginText();
+            show(size, s, x, y - size);
+            cs.endText();
+            y -= size + 4f;
+        }
+
+        // inside BT/ET
+        void show(float size, String s, float x, float baseline) throws IOException {
+            cs.setFont(font, size);
+            cs.setTextMatrix(Matrix.getTranslateInstance(x, baseline));
+            cs.showText(s);
+        }
+
+        void showRight(float size, String s, float right, float baseline) throws IOException {
+            show(size, s, right - renderer.textWidth(s, size), baseline);
+        }
+
+        void close() throws IOException {
+            if (cs != null) cs.close();
+            cs = null;
+        }
+    }
+
+    // ---------------- Day figures (first pass) ----------------
+    private static final class Totals {
+        int count;
+        long mainGrams;
+        long subtotal;
+        long total;
+        long gst;
+        long finalAmount;
+
+        void add(LedgerEntry e) {
+            count++;
+            mainGrams += e.mainGrams();
+            subtotal += e.subtotal();
+            total += e.total();
+            gst += e.gst();
+            finalAmount += e.finalAmount();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead log of the trucks being entered ({@code entry.journal} in the data dir), so a
+ * crash or power cut loses at most the keystrokes since the last ENTER.
+ * <p>
+ * After each ENTER the FX thread serialises the current {@link TruckTransaction} and queues
+ * it. A writer thread appends whatever has queued and then calls {@code force} once for all
+ * of it. That is a group commit: the UI never waits on the disk, and a burst of ENTERs costs
+ * one sync. A CLOSE record marks a truck reset, or printed: for a printed truck it is sent by
+ * the print thread once the slip's ledger record is on disk, so a slip still queued for the
+ * printer is not lost with the journal. Once no truck is open, the file is truncated to nothing.
+ * <p>
+ * Record layout (big-endian): {@code int length, int crc32, byte type, body}. Length covers the
+ * type and body, and the CRC is over the same bytes. On open, replay stops at the first torn or
+ * corrupt record. The latest STATE of each truck that was not closed is handed back, and the
+ * file is rewritten to hold just those.
+ */
+final class EntryJournal implements AutoCloseable {
+
+    static final String FILE_NAME = "entry.journal";
+
+    private static final byte STATE = 1;
+    private static final byte CLOSE = 2;
+    private static final byte[] STOP = new byte[0];
+
+    private final FileChannel channel;
+    private final List<TruckTransaction> recovered;
+    private final BlockingQueue<byte[]> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    // writer thread only
+    private final Set<Integer> open = new HashSet<>();
+    private final CRC32 crc = new CRC32();
+
+    private EntryJournal(FileChannel channel, List<TruckTransaction> recovered) {
+        this.channel = channel;
+        this.recovered = recovered;
+        for (TruckTransaction t : recovered) open.add(t.number);
+        this.writer = new Thread(this::run, "entry-journal");
+        writer.setDaemon(true);
+    }
+
+    /** Replays and compacts {@code file}, then starts the writer. */
+    static EntryJournal open(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            Map<Integer, byte[]> latest = replay(ch);
+            List<TruckTransaction> trucks = new ArrayList<>(latest.size());
+            for (byte[] body : latest.values()) {
+                trucks.add(TruckTransaction.read(new DataInputStream(new ByteArrayInputStream(body, 1, body.length - 1))));
+            }
+
+            EntryJournal j = new EntryJournal(ch, trucks);
+            ch.truncate(0);
+            ch.position(0);
+            for (byte[] body : latest.values()) j.append(body);
+            ch.force(false);
+            j.writer.start();
+            return j;
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    /** Trucks that were open when the app last stopped, oldest ENTER first. */
+    List<TruckTransaction> recovered() {
+        return recovered;
+    }
+
+    // ---------------- FX thread ----------------
+
+    /** Logs {@code t} as it stands; call after {@code Main.saveView} has parked the view into it. */
+    void state(TruckTransaction t) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(STATE);
+            t.write(out);
+            queue.add(bytes.toByteArray());
+        } catch (IOException e) {
+            e.printStackTrace();   // a ByteArrayOutputStream doesn't throw
+        }
+    }
+
+    /** {@code number} was reset, or its slip is in the ledger; nothing of it needs replaying. Any thread. */
+    void closed(int number) {
+        queue.add(new byte[] { CLOSE, (byte) (number >>> 24), (byte) (number >>> 16), (byte) (number >>> 8), (byte) number });
+    }
+
+    // ---------------- Writer thread ----------------
+    private void run() {
+        List<byte[]> batch = new ArrayList<>();
+        boolean stop = false;
+        while (!stop) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch);
+            try {
+                for (byte[] body : batch) {
+                    if (body == STOP) {
+                        stop = true;
+                        break;
+                    }
+                    int number = ByteBuffer.wrap(body, 1, 4).getInt();
+                    if (body[0] == STATE) open.add(number);
+                    else open.remove(number);
+                    append(body);
+                }
+                if (open.isEmpty()) {
+                    channel.truncate(0);   // nothing in progress: start the next truck on an empty file
+                    channel.position(0);
+                }
+                channel.force(false);      // one sync for the whole batch
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            batch.clear();
+        }
+    }
+
+    private void append(byte[] body) throws IOException {
+        crc.reset();
+        crc.update(body);
+        ByteBuffer rec = ByteBuffer.allocate(8 + body.length);
+        rec.putInt(body.length).putInt((int) crc.getValue()).put(body).flip();
+        while (rec.hasRemaining()) channel.write(rec);
+    }
+
+    // latest STATE body per open truck, in the order they were last written
+    private static Map<Integer, byte[]> replay(FileChannel ch) throws IOException {
+        Map<Integer, byte[]> latest = new LinkedHashMap<>();
+        long size = ch.size();
+        if (size == 0 || size > Integer.MAX_VALUE) return latest;
+        // read, not mapped: the file is small, and Windows won't truncate a mapped file
+        ByteBuffer b = ByteBuffer.allocate((int) size);
+        while (b.hasRemaining() && ch.read(b, b.position()) > 0) {
+            // keep reading
+        }
+        b.flip();
+        CRC32 crc = new CRC32();
+
+        while (b.remaining() >= 8) {
+            int len = b.getInt();
+            int sum = b.getInt();
+            if (len < 5 || len > b.remaining()) break;
+            byte[] body = new byte[len];
+            b.get(body);
+            crc.reset();
+            crc.update(body);
+            if ((int) crc.getValue() != sum) break;
+
+            int number = ByteBuffer.wrap(body, 1, 4).getInt();
+            latest.remove(number);
+            if (body[0] == STATE) latest.put(number, body);
+        }
+        return latest;
+    }
+
+    @Override
+    public void close() {
+        queue.add(STOP);
+        try {
+            writer.join(2_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.math.BigInteger;
+
+/**
+ * Fixed-point arithmetic on plain longs: money is held in paise, weights in grams.
+ * <p>
+ * Parsing walks the characters once and never throws; formatting appends into a caller's
+ * {@link StringBuilder}. Nothing here keeps state, so it is safe from the print thread
+ * (unlike the shared {@code DecimalFormat} it replaces).
+ */
+final class Fixed {
+
+    /** Decimal places of a money value (paise). */
+    static final int MONEY = 2;
+    /** Decimal places of a weight value (grams). */
+    static final int WEIGHT = 3;
+
+    static final long PAISE_PER_RUPEE = 100;
+    static final long GRAMS_PER_KG = 1_000;
+    static final long GRAMS_PER_TON = 1_000_000;
+
+    /** Returned by {@link #tryParse} for blank or malformed input. */
+    static final long INVALID = Long.MIN_VALUE;
+
+    private static final long[] POW10 = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L
+    };
+
+    // Largest magnitude we accept before the scale is applied; keeps later multiplications in range.
+    private static final long MAX_WHOLE = 1_000_000_000_000L;
+
+    /**
+     * Where {@link #mulDiv} stops on overflow: far past any real amount, yet tens of
+     * thousands of such rows still sum without wrapping.
+     */
+    static final long SATURATED = Long.MAX_VALUE >> 16;
+
+    private Fixed() {
+    }
+
+    // ---------------- Parsing ----------------
+    static long parseMoney(CharSequence s) {
+        return parse(s, MONEY);
+    }
+
+    static long parseWeight(CharSequence s) {
+        return parse(s, WEIGHT);
+    }
+
+    /** Like {@link #tryParse} but blank or malformed input reads as zero. */
+    static long parse(CharSequence s, int scale) {
+        long v = tryParse(s, scale);
+        return v == INVALID ? 0 : v;
+    }
+
+    /**
+     * Parses {@code [ws][+-]digits[.digits][ws]} with optional thousands commas into a value
+     * with {@code scale} implied decimals. Extra fraction digits are rounded half-up.
+     */
+    static long tryParse(CharSequence s, int scale) {
+        if (s == null) return INVALID;
+        int len = s.length();
+        int i = 0;
+        while (i < len && Character.isWhitespace(s.charAt(i))) i++;
+        while (len > i && Character.isWhitespace(s.charAt(len - 1))) len--;
+        if (i == len) return INVALID;
+
+        boolean neg = false;
+        char c = s.charAt(i);
+        if (c == '-' || c == '+') {
+            neg = c == '-';
+            i++;
+        }
+
+        long whole = 0;
+        long frac = 0;
+        int fracDigits = 0;
+        boolean roundUp = false;
+        boolean anyDigit = false;
+        boolean inFrac = false;
+
+        for (; i < len; i++) {
+            c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                int d = c - '0';
+                if (!inFrac) {
+                    whole = whole * 10 + d;
+                    if (whole > MAX_WHOLE) return INVALID;
+                } else if (fracDigits < scale) {
+                    frac = frac * 10 + d;
+                    fracDigits++;
+                } else if (fracDigits == scale) {
+                    roundUp = d >= 5;
+                    fracDigits++;
+                }
+            } else if (c == ',' && !inFrac) {
+                // grouping separator, ignored the way safeParse always stripped it
+            } else if (c == '.' && !inFrac) {
+                inFrac = true;
+            } else {
+                return INVALID;
+            }
+        }
+        if (!anyDigit) return INVALID;
+
+        int used = Math.min(fracDigits, scale);
+        long v = whole * POW10[scale] + frac * POW10[scale - used];
+        if (roundUp) v++;
+        return neg ? -v : v;
+    }
+
+    // ---------------- Arithmetic ----------------
+
+    /**
+     * {@code a * b / div}, rounded half away from zero, for a positive {@code div}. Never
+     * throws: a product past 64 bits is divided exactly, and a quotient past
+     * {@link #SATURATED} is clamped to it.
+     */
+    static long mulDiv(long a, long b, long div) {
+        long p = a * b;
+        if (Math.multiplyHigh(a, b) != (p >> 63)) return wideMulDiv(a, b, div);
+        long q = p / div;
+        long r = p % div;
+        if (Math.abs(r) * 2 >= div) q += Long.signum(p);
+        return q;
+    }
+
+    // slow path for absurd input (a typo'd price on a full load, a bad batch row)
+    private static long wideMulDiv(long a, long b, long div) {
+        BigInteger p = BigInteger.valueOf(a).multiply(BigInteger.valueOf(b));
+        BigInteger[] qr = p.divideAndRemainder(BigInteger.valueOf(div));
+        BigInteger q = qr[0];
+        if (qr[1].abs().shiftLeft(1).compareTo(BigInteger.valueOf(div)) >= 0) q = q.add(BigInteger.valueOf(p.signum()));
+        if (q.bitLength() >= 63) return p.signum() < 0 ? -SATURATED : SATURATED;
+        return Math.max(-SATURATED, Math.min(SATURATED, q.longValue()));
+    }
+
+    /** Amount in paise for a per-ton rate (paise) applied to a weight in grams. */
+    static long amount(long ratePaise, long grams) {
+        return mulDiv(ratePaise, grams, GRAMS_PER_TON);
+    }
+
+    /** Whole units, rounded towards negative infinity (what the slip prints). */
+    static long floorWhole(long v, int scale) {
+        return Math.floorDiv(v, POW10[scale]);
+    }
+
+    /** Whole units, rounded half-even (what the on-screen {@code #,##0} format showed). */
+    static long roundWhole(long v, int scale) {
+        long unit = POW10[scale];
+        long q = Math.floorDiv(v, unit);
+        long r = v - q * unit;
+        long twice = r * 2;
+        if (twice > unit || (twice == unit && (q & 1) != 0)) q++;
+        return q;
+    }
+
+    // ---------------- Formatting ----------------
+
+    /** Appends {@code value} as {@code #,##0}. */
+    static StringBuilder appendGrouped(StringBuilder sb, long value) {
+        if (value < 0) {
+            sb.append('-');
+            if (value == Long.MIN_VALUE) return sb.append("9,223,372,036,854,775,808");
+            value = -value;
+        }
+        int start = sb.length();
+        int digits = 0;
+        do {
+            if (digits > 0 && digits % 3 == 0) sb.append(',');
+            sb.append((char) ('0' + (value % 10)));
+            value /= 10;
+            digits++;
+        } while (value != 0);
+
+        // digits were appended least-significant first
+        for (int lo = start, hi = sb.length() - 1; lo < hi; lo++, hi--) {
+            char t = sb.charAt(lo);
+            sb.setCharAt(lo, sb.charAt(hi));
+            sb.setCharAt(hi, t);
+        }
+        return sb;
+    }
+
+    /** Money for the screen: whole rupees, grouped. */
+    static String formatMoney(long paise) {
+        return appendGrouped(new StringBuilder(16), roundWhole(paise, MONEY)).toString();
+    }
+
+    /** Weight for the screen: whole kg, grouped. */
+    static String formatWeight(long grams) {
+        return appendGrouped(new StringBuilder(16), roundWhole(grams, WEIGHT)).toString();
+    }
+
+    /** Plain editable text for a field: no grouping, no trailing zeros ("42000", "42000.5"). */
+    static String toPlain(long v, int scale) {
+        StringBuilder sb = new StringBuilder(24);
+        if (v < 0) {
+            sb.append('-');
+            v = -v;
+        }
+        long unit = POW10[scale];
+        sb.append(v / unit);
+        long frac = v % unit;
+        if (frac != 0) {
+            int digits = scale;
+            while (frac % 10 == 0) {
+                frac /= 10;
+                digits--;
+            }
+            sb.append('.');
+            String f = Long.toString(frac);
+            for (int i = f.length(); i < digits; i++) sb.append('0');
+            sb.append(f);
+        }
+        return sb.toString();
+    }
+
+    /** Whole units for the slip, floored and ungrouped. */
+    static String floorString(long v, int scale) {
+        return Long.toString(floorWhole(v, scale));
+    }
+}
@@ -0,0 +1,140 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import javafx.css.PseudoClass;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TextFormatter;
+
+/**
+ * A number field that only ever holds a number, and knows its {@link Fixed} value without
+ * being asked to parse. A {@link TextFormatter} filter sees each edit before it lands. It
+ * drops any typed or pasted character that can't be part of a number of the field's scale, then
+ * parses the resulting text once. So the model reads a long, and letters, spaces or a third
+ * decimal of a rupee never reach the totals.
+ * <p>
+ * Accepted while typing: up to 12 digits with thousands commas, one point, and at most
+ * {@code scale} decimals. Empty and a lone {@code "."} are fine mid-edit; they read as zero.
+ * A quality field also takes a leading minus and grade codes: a letter, then letters, digits,
+ * {@code +} and {@code -}. A code reads as zero until ENTER expands it from the rate card.
+ * <p>
+ * A number past a sane range (a crore per ton, 1,000 t) is kept as typed, so the operator
+ * sees the typo, but the field turns {@code :invalid} and PRINT refuses it. FX thread only.
+ */
+final class FixedInput {
+
+    private static final PseudoClass INVALID = PseudoClass.getPseudoClass("invalid");
+    private static final long MAX_PAISE = 10_000_000L * Fixed.PAISE_PER_RUPEE;
+    private static final long MAX_GRAMS = 1_000_000L * Fixed.GRAMS_PER_KG;
+    private static final int MAX_WHOLE_DIGITS = 12;   // anything Fixed.tryParse still reads
+
+    private final TextField field;
+    private final int scale;
+    private final boolean quality;
+    private long value;   // Fixed.tryParse of the current text
+
+    private FixedInput(TextField field, int scale, boolean quality) {
+        this.field = field;
+        this.scale = scale;
+        this.quality = quality;
+        field.setTextFormatter(new TextFormatter<>(this::filter));
+        value = Fixed.tryParse(field.getText(), scale);
+    }
+
+    /** Rupees, two decimals. */
+    static FixedInput money(TextField field) {
+        return new FixedInput(field, Fixed.MONEY, false);
+    }
+
+    /** Kilograms, three decimals. */
+    static FixedInput weight(TextField field) {
+        return new FixedInput(field, Fixed.WEIGHT, false);
+    }
+
+    /** A quality premium in rupees, which may be negative, or a grade code. */
+    static FixedInput quality(TextField field) {
+        return new FixedInput(field, Fixed.MONEY, true);
+    }
+
+    /** The field's value; zero when it is blank, mid-edit or a grade code. */
+    long value() {
+        return value == Fixed.INVALID ? 0 : value;
+    }
+
+    /** The field's value, or {@link Fixed#INVALID} when it holds no number. */
+    long parsed() {
+        return value;
+    }
+
+    /** False when the field holds a number too large to be real. */
+    boolean inRange() {
+        return inRange(value, scale);
+    }
+
+    /** Whether {@code v} (or no number at all) is within what a field of {@code scale} accepts. */
+    static boolean inRange(long v, int scale) {
+        return v == Fixed.INVALID || Math.abs(v) <= (scale == Fixed.WEIGHT ? MAX_GRAMS : MAX_PAISE);
+    }
+
+    // keeps what fits of the inserted text, so setText with stale junk still clears the old value
+    private TextFormatter.Change filter(TextFormatter.Change c) {
+        if (!c.isContentChange()) return c;
+        String before = c.getControlText();
+        String head = before.substring(0, c.getRangeStart());
+        String tail = before.substring(c.getRangeEnd());
+        String inserted = c.getText();
+
+        StringBuilder text = new StringBuilder(head.length() + inserted.length() + tail.length()).append(head);
+        int kept = 0;
+        for (int i = 0; i < inserted.length(); i++) {
+            text.append(inserted.charAt(i));
+            if (accepts(text, tail)) kept++;
+            else text.setLength(text.length() - 1);
+        }
+        text.append(tail);
+        if (!accepts(text, "")) return null;   // a deletion that breaks it, e.g. the "A" of "A+"
+
+        if (kept != inserted.length()) {
+            int caret = c.getRangeStart() + kept;
+            c.setText(text.substring(head.length(), caret));
+            c.selectRange(caret, caret);
+        }
+        value = Fixed.tryParse(text, scale);
+        field.pseudoClassStateChanged(INVALID, !inRange());
+        return c;
+    }
+
+    private boolean accepts(CharSequence s, String tail) {
+        int len = s.length() + tail.length();
+        if (len == 0) return true;
+        char first = charAt(s, tail, 0);
+        if (quality && Character.isLetter(first)) return isCode(s, tail, len);
+
+        int i = quality && first == '-' ? 1 : 0;
+        boolean point = false;
+        int whole = 0;
+        int decimals = 0;
+        for (; i < len; i++) {
+            char c = charAt(s, tail, i);
+            if (c >= '0' && c <= '9') {
+                if (point ? ++decimals > scale : ++whole > MAX_WHOLE_DIGITS) return false;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else if (c != ',' || point) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isCode(CharSequence s, String tail, int len) {
+        for (int i = 1; i < len; i++) {
+            char c = charAt(s, tail, i);
+            if (!Character.isLetterOrDigit(c) && c != '+' && c != '-') return false;
+        }
+        return true;
+    }
+
+    // s followed by tail, without building the string
+    private static char charAt(CharSequence s, String tail, int i) {
+        return i < s.length() ? s.charAt(i) : tail.charAt(i - s.length());
+    }
+}
@@ -0,0 +1,198 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Watches the FX Application Thread for input lag and writes what it finds to
+ * {@code logs/fx-watchdog.N.log} in the data dir (1 MB per file, 5 files, rotating).
+ * <p>
+ * Every {@value #PROBE_MILLIS} ms a daemon thread posts a probe with {@code runLater} and asks
+ * for a pulse. The time from the probe to the start of the next pulse goes into
+ * {@link Metrics.Stage#FX_PULSE}. That is how long a keystroke would wait before it shows on
+ * screen. Each layout pass goes into {@link Metrics.Stage#FX_LAYOUT}. If a probe is still
+ * waiting after the stall threshold ({@code -Drajdhani.stallMillis}, default 250), the FX
+ * thread's stack is logged. It is logged again each time the threshold passes until the thread
+ * comes back, and then the total stall time is logged.
+ * <p>
+ * Scene-graph changes from other threads are flagged as well. The scene root's layout flag
+ * fires its listener on whichever thread dirtied it, and {@link #checkFxThread} guards methods
+ * that are only meant to be posted to the FX thread. Each offending call site is logged once,
+ * with its stack.
+ */
+final class FxWatchdog implements AutoCloseable {
+
+    static final long PROBE_MILLIS = 100;
+    private static final int MAX_FRAMES = 40;
+
+    private static final Logger log = Logger.getLogger("com.ranjdhaniCastingDemoproject.fx");
+    private static final Set<String> flaggedSites = ConcurrentHashMap.newKeySet();
+
+    private final long stallNanos;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    // probe posted by the watchdog, cleared by the FX thread; 0 = none outstanding
+    private volatile long probeNanos;
+    private volatile long beatNanos;
+    private volatile Thread fxThread;
+
+    // FX thread only
+    private long pulseProbe;
+    private Metrics.Timer layoutTimer;
+
+    private FxWatchdog(Scene scene, long stallMillis) {
+        this.stallNanos = TimeUnit.MILLISECONDS.toNanos(stallMillis);
+
+        scene.addPreLayoutPulseListener(this::pulseStarted);
+        scene.addPostLayoutPulseListener(this::pulseLaidOut);
+        scene.getRoot().needsLayoutProperty().addListener((o, was, dirty) -> {
+            if (dirty) checkFxThread("layout invalidated");
+        });
+
+        this.thread = new Thread(this::run, "fx-watchdog");
+        thread.setDaemon(true);
+    }
+
+    /** Starts watching {@code scene}'s FX thread; call on the FX thread. */
+    static FxWatchdog start(Scene scene) {
+        openLog();
+        long stallMillis = Long.getLong("rajdhani.stallMillis", 250);
+        FxWatchdog w = new FxWatchdog(scene, Math.max(PROBE_MILLIS, stallMillis));
+        w.fxThread = Thread.currentThread();
+        w.thread.start();
+        return w;
+    }
+
+    /**
+     * Flags {@code where} if the caller is not the FX thread. Put it at the top of methods that
+     * touch nodes and are reached through {@code runLater}. That way, if the {@code runLater}
+     * is ever dropped, the log shows it.
+     */
+    static void checkFxThread(String where) {
+        if (Platform.isFxApplicationThread()) return;
+        StackTraceElement[] stack = new Throwable().getStackTrace();
+        if (!flaggedSites.add(callSite(stack, where))) return;   // once per call site
+        log.warning("off-thread scene graph access (" + where + ") on " + Thread.currentThread().getName()
+                + "\n" + format(stack, 1));
+    }
+
+    // ---------------- Probe loop (watchdog thread) ----------------
+
+    private void run() {
+        long reportedAt = 0;   // probe time of the stall already being reported
+        long nextReport = 0;
+        while (running) {
+            try {
+                Thread.sleep(PROBE_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long probe = probeNanos;
+            long now = System.nanoTime();
+
+            if (probe == 0) {
+                if (reportedAt != 0) {
+                    log.warning("FX thread back after " + TimeUnit.NANOSECONDS.toMillis(beatNanos - reportedAt) + " ms");
+                    reportedAt = 0;
+                }
+                probeNanos = now;
+                Platform.runLater(this::beat);
+                continue;
+            }
+
+            if (now - probe < stallNanos) continue;
+            if (reportedAt != probe) {
+                reportedAt = probe;
+                nextReport = now;
+            }
+            if (now >= nextReport) {
+                Thread fx = fxThread;
+                log.warning("FX thread blocked for " + TimeUnit.NANOSECONDS.toMillis(now - probe) + " ms"
+                        + (fx == null ? "" : " (" + fx.getState() + ")\n" + format(fx.getStackTrace(), 0)));
+                nextReport = now + stallNanos;
+            }
+        }
+    }
+
+    // ---------------- FX thread ----------------
+
+    private void beat() {
+        if (pulseProbe == 0) pulseProbe = probeNanos;
+        beatNanos = System.nanoTime();
+        probeNanos = 0;
+        Platform.requestNextPulse();
+    }
+
+    private void pulseStarted() {
+        if (pulseProbe != 0) {
+            Metrics.histogram(Metrics.Stage.FX_PULSE).recordNanos(System.nanoTime() - pulseProbe);
+            pulseProbe = 0;
+        }
+        layoutTimer = Metrics.time(Metrics.Stage.FX_LAYOUT);
+    }
+
+    private void pulseLaidOut() {
+        if (layoutTimer == null) return;
+        layoutTimer.close();
+        layoutTimer = null;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+        for (Handler h : log.getHandlers()) h.close();
+    }
+
+    // ---------------- Log file ----------------
+
+    private static synchronized void openLog() {
+        if (log.getHandlers().length > 0) return;
+        try {
+            String pattern = DataDirs.dir("logs").resolve("fx-watchdog.%g.log").toString().replace('\\', '/');
+            FileHandler file = new FileHandler(pattern, 1 << 20, 5, true);
+            file.setFormatter(new Formatter() {
+                @Override
+                public String format(LogRecord r) {
+                    return LocalDateTime.now().withNano(0) + " " + r.getLevel() + " " + r.getMessage() + "\n";
+                }
+            });
+            log.addHandler(file);
+            log.setUseParentHandlers(false);
+            log.setLevel(Level.INFO);
+        } catch (IOException e) {
+            e.printStackTrace();   // keep logging to stderr
+        }
+    }
+
+    // first frame of ours below the check, past the JavaFX listener plumbing
+    private static String callSite(StackTraceElement[] stack, String where) {
+        for (int i = 1; i < stack.length; i++) {
+            String c = stack[i].getClassName();
+            if (c.startsWith("javafx.") || c.startsWith("com.sun.") || c.startsWith(FxWatchdog.class.getName())) continue;
+            return stack[i].toString();
+        }
+        return where;
+    }
+
+    private static String format(StackTraceElement[] stack, int skip) {
+        StringBuilder sb = new StringBuilder(2048);
+        int end = Math.min(stack.length, skip + MAX_FRAMES);
+        for (int i = skip; i < end; i++) sb.append("\tat ").append(stack[i]).append('\n');
+        if (end < stack.length) sb.append("\t... ").append(stack.length - end).append(" more\n");
+        return sb.toString();
+    }
+}
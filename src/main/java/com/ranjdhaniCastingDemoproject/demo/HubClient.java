@@ -0,0 +1,215 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Ships this counter's slips to the {@link SlipHub} on a daemon thread.
+ * <p>
+ * The outbox is the local {@link SlipLedger}, and a cursor file
+ * ({@code hub-outbox.properties}: ledger file name = byte offset, one line per day) marks how
+ * far the hub has acknowledged each day. The counter never waits on the network. With the hub
+ * unreachable, slips keep going into the ledger and the offsets stay put. Once the hub is
+ * back, everything past them goes out in batches, oldest day first, and an offset moves after
+ * each ACK. Every day is checked on each pass, so slips back-filled into a past day
+ * ({@code --batch --record --date}) are sent too. A crash between a send and its ACK means
+ * that batch is sent again, and the hub drops the repeats. A counter joining the hub for the
+ * first time sends its whole ledger history.
+ */
+final class HubClient implements AutoCloseable {
+
+    static final String CURSOR_FILE = "hub-outbox.properties";
+
+    private static final long POLL_MILLIS = 5_000;       // idle check, in case a nudge was missed
+    private static final long MIN_RETRY_MILLIS = 2_000;
+    private static final long MAX_RETRY_MILLIS = 60_000;
+    private static final int CONNECT_TIMEOUT_MILLIS = 3_000;
+    private static final int ACK_TIMEOUT_MILLIS = 30_000;
+
+    private final HubSettings settings;
+    private final Path ledgerDir;
+    private final Path cursorFile;
+    private final Thread thread;
+    private volatile boolean closed;
+    private volatile Socket socket;   // closed from outside to unblock a pending read
+
+    private final Object wake = new Object();
+    private boolean nudged;
+
+    /** Records past a day's acknowledged offset, and where the hub's ACK moves it. */
+    private record Batch(String file, int end) {
+    }
+
+    // cursor: ledger file name -> acknowledged offset (sync thread only)
+    private final Map<String, Integer> acked = new HashMap<>();
+
+    private HubClient(HubSettings settings, Path ledgerDir, Path cursorFile) {
+        this.settings = settings;
+        this.ledgerDir = ledgerDir;
+        this.cursorFile = cursorFile;
+        this.thread = new Thread(this::run, "hub-sync");
+        thread.setDaemon(true);
+    }
+
+    static HubClient start(HubSettings settings, Path ledgerDir) {
+        HubClient c = new HubClient(settings, ledgerDir, DataDirs.root().resolve(CURSOR_FILE));
+        c.thread.start();
+        return c;
+    }
+
+    /** A slip was just recorded; send it now rather than at the next poll. */
+    void nudge() {
+        synchronized (wake) {
+            nudged = true;
+            wake.notifyAll();
+        }
+    }
+
+    // ---------------- Sync thread ----------------
+    private void run() {
+        loadCursor();
+        long retry = MIN_RETRY_MILLIS;
+        boolean reported = false;   // log an unreachable hub once, not every retry
+
+        while (!closed) {
+            try {
+                List<ByteBuffer> batch = new ArrayList<>();
+                if (collect(batch) == null) {   // nothing new
+                    await(POLL_MILLIS);
+                    continue;
+                }
+                try (Socket s = connect()) {
+                    socket = s;
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream(), 1 << 16));
+                    DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+                    HubProtocol.hello(out, settings.terminal());
+                    reported = false;
+                    retry = MIN_RETRY_MILLIS;
+
+                    // stay connected while there is a backlog or slips keep coming
+                    while (!closed) {
+                        batch.clear();
+                        Batch next = collect(batch);
+                        if (next == null) {
+                            if (!await(POLL_MILLIS)) break;
+                            continue;
+                        }
+                        send(in, out, batch);
+                        acked.put(next.file(), next.end());
+                        saveCursor();
+                    }
+                } finally {
+                    socket = null;
+                }
+            } catch (IOException e) {
+                if (closed) break;
+                if (!reported) e.printStackTrace();
+                reported = true;
+                await(retry);
+                retry = Math.min(retry * 2, MAX_RETRY_MILLIS);
+            }
+        }
+    }
+
+    private Socket connect() throws IOException {
+        Socket s = new Socket();
+        try {
+            s.connect(new InetSocketAddress(settings.host(), settings.port()), CONNECT_TIMEOUT_MILLIS);
+            s.setSoTimeout(ACK_TIMEOUT_MILLIS);
+            s.setTcpNoDelay(true);
+            return s;
+        } catch (IOException e) {
+            s.close();
+            throw e;
+        }
+    }
+
+    private void send(DataInputStream in, DataOutputStream out, List<ByteBuffer> batch) throws IOException {
+        HubProtocol.batch(out, batch);
+        HubProtocol.Frame reply = HubProtocol.read(in);
+        if (reply.type() == HubProtocol.ERROR) throw new IOException("hub: " + HubProtocol.text(reply.body()));
+        if (reply.type() != HubProtocol.ACK) throw new IOException("hub: unexpected frame " + reply.type());
+    }
+
+    /**
+     * Fills {@code batch} with records past the acknowledged offset of the oldest day that has
+     * any; null when the hub has everything.
+     */
+    private Batch collect(List<ByteBuffer> batch) throws IOException {
+        for (Path f : SlipLedger.files(ledgerDir)) {
+            String name = f.getFileName().toString();
+            int end = SlipLedger.readRecords(f, acked.getOrDefault(name, 0), settings.batch(), batch::add);
+            if (!batch.isEmpty()) return new Batch(name, end);
+        }
+        return null;
+    }
+
+    /** Waits up to {@code millis} for a nudge; false if it timed out. */
+    private boolean await(long millis) {
+        synchronized (wake) {
+            if (!nudged) {
+                try {
+                    wake.wait(millis);
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+            }
+            boolean woke = nudged;
+            nudged = false;
+            return woke;
+        }
+    }
+
+    // ---------------- Cursor ----------------
+    private void loadCursor() {
+        if (!Files.isRegularFile(cursorFile)) return;
+        Properties p = new Properties();
+        try (Reader r = Files.newBufferedReader(cursorFile)) {
+            p.load(r);
+            for (String name : p.stringPropertyNames()) acked.put(name, Integer.parseInt(p.getProperty(name)));
+        } catch (IOException | NumberFormatException e) {
+            e.printStackTrace();
+            acked.clear();
+        }
+    }
+
+    private void saveCursor() throws IOException {
+        Properties p = new Properties();
+        for (Map.Entry<String, Integer> e : acked.entrySet()) p.setProperty(e.getKey(), e.getValue().toString());
+        Path tmp = cursorFile.resolveSibling(CURSOR_FILE + ".tmp");
+        try (Writer w = Files.newBufferedWriter(tmp)) {
+            p.store(w, "bytes of each ledger file acknowledged by " + settings.host() + ":" + settings.port());
+        }
+        Files.move(tmp, cursorFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Socket s = socket;
+        if (s != null) {
+            try {
+                s.close();
+            } catch (IOException e) {
+                // already gone
+            }
+        }
+        thread.interrupt();
+    }
+}
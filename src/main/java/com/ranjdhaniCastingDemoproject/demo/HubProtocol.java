@@ -0,0 +1,107 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Wire format between a counter ({@link HubClient}) and the {@link SlipHub}, big-endian:
+ * <pre>
+ *   frame  = int length (of type + body), byte type, body
+ *   HELLO  1  short version, short n, n bytes terminal id (UTF-8)      terminal -> hub, once
+ *   BATCH  2  int count, count ledger records                         terminal -> hub
+ *   ACK    3  int stored, int duplicates                               hub -> terminal, per batch
+ *   ERROR  4  short n, n bytes message (UTF-8)                         hub -> terminal, then close
+ * </pre>
+ * Records travel in the {@link SlipLedger} format, CRC included. Each one carries its own
+ * length, so the hub checks and stores them without re-encoding. An ACK means the whole batch
+ * is on the hub's disk, and only then does the terminal move its outbox cursor. A batch that is
+ * resent after a lost ACK is answered as duplicates.
+ */
+final class HubProtocol {
+
+    static final int DEFAULT_PORT = 7420;
+    static final short VERSION = 1;
+
+    static final byte HELLO = 1;
+    static final byte BATCH = 2;
+    static final byte ACK = 3;
+    static final byte ERROR = 4;
+
+    static final int MAX_FRAME = 16 << 20;
+
+    private HubProtocol() {
+    }
+
+    /** One frame as read off the wire; {@code body} excludes the type byte. */
+    record Frame(byte type, ByteBuffer body) {
+    }
+
+    static Frame read(DataInputStream in) throws IOException {
+        int len = in.readInt();
+        if (len < 1 || len > MAX_FRAME) throw new IOException("bad frame length " + len);
+        byte type = in.readByte();
+        byte[] body = new byte[len - 1];
+        in.readFully(body);
+        return new Frame(type, ByteBuffer.wrap(body));
+    }
+
+    // ---------------- Writing ----------------
+
+    static void hello(DataOutputStream out, String terminal) throws IOException {
+        byte[] id = terminal.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(1 + 2 + 2 + id.length);
+        out.writeByte(HELLO);
+        out.writeShort(VERSION);
+        out.writeShort(id.length);
+        out.write(id);
+        out.flush();
+    }
+
+    static void batch(DataOutputStream out, List<ByteBuffer> records) throws IOException {
+        int len = 1 + 4;
+        for (ByteBuffer r : records) len += r.remaining();
+        out.writeInt(len);
+        out.writeByte(BATCH);
+        out.writeInt(records.size());
+        for (ByteBuffer r : records) {
+            ByteBuffer d = r.duplicate();
+            byte[] chunk = new byte[d.remaining()];
+            d.get(chunk);
+            out.write(chunk);
+        }
+        out.flush();
+    }
+
+    static void ack(DataOutputStream out, int stored, int duplicates) throws IOException {
+        out.writeInt(1 + 8);
+        out.writeByte(ACK);
+        out.writeInt(stored);
+        out.writeInt(duplicates);
+        out.flush();
+    }
+
+    static void error(DataOutputStream out, String message) throws IOException {
+        byte[] m = message.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(1 + 2 + m.length);
+        out.writeByte(ERROR);
+        out.writeShort(m.length);
+        out.write(m);
+        out.flush();
+    }
+
+    // ---------------- Bodies ----------------
+
+    static String text(ByteBuffer body) throws IOException {
+        if (body.remaining() < 2) throw new EOFException("short frame");
+        int n = body.getShort() & 0xFFFF;
+        if (body.remaining() < n) throw new EOFException("short frame");
+        byte[] b = new byte[n];
+        body.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,74 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Where this counter sends its slips, read from {@code hub.properties} in the data dir:
+ * <pre>
+ *   hub      = 192.168.1.10:7420   # host[:port] of the SlipHub; localhost:7420 for testing
+ *   terminal = counter-1           # this counter's name at the hub; defaults to the host name
+ *   batch    = 200                 # slips per BATCH frame
+ * </pre>
+ * No file or no {@code hub} means a standalone counter, as before.
+ */
+record HubSettings(String host, int port, String terminal, int batch) {
+
+    static final String FILE_NAME = "hub.properties";
+
+    static HubSettings load() {
+        return load(DataDirs.root().resolve(FILE_NAME));
+    }
+
+    static HubSettings load(Path file) {
+        Properties p = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (Reader r = Files.newBufferedReader(file)) {
+                p.load(r);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        String hub = p.getProperty("hub", "").trim();
+        String host = hub;
+        int port = HubProtocol.DEFAULT_PORT;
+        int colon = hub.lastIndexOf(':');
+        if (colon > 0) {
+            host = hub.substring(0, colon);
+            try {
+                port = Integer.parseInt(hub.substring(colon + 1));
+            } catch (NumberFormatException e) {
+                port = HubProtocol.DEFAULT_PORT;
+            }
+        }
+
+        int batch;
+        try {
+            batch = Integer.parseInt(p.getProperty("batch", "200").trim());
+        } catch (NumberFormatException e) {
+            batch = 200;
+        }
+
+        String terminal = p.getProperty("terminal", "").trim();
+        if (terminal.isEmpty()) terminal = hostName();
+
+        return new HubSettings(host, port, terminal, Math.max(1, Math.min(batch, 10_000)));
+    }
+
+    boolean enabled() {
+        return !host.isEmpty();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "counter";
+        }
+    }
+}
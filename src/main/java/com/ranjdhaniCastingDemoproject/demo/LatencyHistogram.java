@@ -0,0 +1,101 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * HDR-style latency histogram in microseconds. Buckets are log-linear: each power of two
+ * is split into 64 linear steps, so any recorded value is within about 1.6% of its bucket.
+ * The range is 1 &micro;s to about 9 hours in a fixed 2 k-entry array. Recording is one atomic
+ * increment and never allocates, so it is safe from any thread on the hot path. Reads are
+ * not a consistent snapshot across buckets, which is fine for monitoring.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BITS = 6;                  // 64 linear steps per power of two
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int MAX_SHIFT = 29;                // top bucket starts at 2^35 us
+    private static final int SIZE = (MAX_SHIFT + 2) * SUB;
+
+    private final AtomicLongArray counts = new AtomicLongArray(SIZE);
+    private final AtomicLongArray totals = new AtomicLongArray(2);   // [0] count, [1] sum us
+    private final AtomicLong max = new AtomicLong();
+
+    void recordNanos(long nanos) {
+        record(Math.max(0, nanos / 1_000));
+    }
+
+    void record(long micros) {
+        counts.incrementAndGet(index(micros));
+        totals.incrementAndGet(0);
+        totals.addAndGet(1, micros);
+        if (micros > max.get()) max.accumulateAndGet(micros, Math::max);
+    }
+
+    long count() {
+        return totals.get(0);
+    }
+
+    long meanMicros() {
+        long n = totals.get(0);
+        return n == 0 ? 0 : totals.get(1) / n;
+    }
+
+    long maxMicros() {
+        return max.get();
+    }
+
+    /** Upper edge of the bucket holding the {@code p}th percentile (0..100), in microseconds. */
+    long percentile(double p) {
+        long n = count();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < SIZE; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(highest(i), max.get());
+        }
+        return max.get();
+    }
+
+    /** Non-empty buckets as {lowest, highest, count} triples, for dumps. */
+    long[][] buckets() {
+        int k = 0;
+        for (int i = 0; i < SIZE; i++) if (counts.get(i) != 0) k++;
+        long[][] out = new long[k][];
+        int j = 0;
+        for (int i = 0; i < SIZE && j < k; i++) {
+            long c = counts.get(i);
+            if (c != 0) out[j++] = new long[] { lowest(i), highest(i), c };
+        }
+        return out;
+    }
+
+    void reset() {
+        for (int i = 0; i < SIZE; i++) counts.set(i, 0);
+        totals.set(0, 0);
+        totals.set(1, 0);
+        max.set(0);
+    }
+
+    // ---------------- Bucket maths ----------------
+    // v < 128 maps to itself; above that, shift so the top 7 bits remain: index = shift * 64 + (v >>> shift)
+    static int index(long v) {
+        int msb = 63 - Long.numberOfLeadingZeros(v | 1);
+        int shift = Math.min(Math.max(0, msb - SUB_BITS), MAX_SHIFT);
+        long sub = Math.min(v >>> shift, 2 * SUB - 1);
+        return shift * SUB + (int) sub;
+    }
+
+    static long lowest(int index) {
+        int shift = Math.max(0, index / SUB - 1);
+        long sub = index - (long) shift * SUB;
+        return sub << shift;
+    }
+
+    static long highest(int index) {
+        int shift = Math.max(0, index / SUB - 1);
+        long sub = index - (long) shift * SUB;
+        return ((sub + 1) << shift) - 1;
+    }
+}
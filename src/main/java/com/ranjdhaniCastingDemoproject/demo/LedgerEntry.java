@@ -0,0 +1,60 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One slip as read back from the {@link SlipLedger}. Row data is kept in parallel
+ * primitive arrays (grams, rate, quality and amount in {@link Fixed} units) so scans
+ * over history don't box anything. The last row is the dust row.
+ */
+record LedgerEntry(long sequence,
+                   long timestampMillis,
+                   String truck,
+                   long mainGrams,
+                   long price1,
+                   long price2,
+                   long subtotal,
+                   int discountBasisPoints,
+                   long total,
+                   long gst,
+                   long finalAmount,
+                   long[] grams,
+                   long[] rates,
+                   long[] qualities,
+                   long[] amounts) {
+
+    int rowCount() {
+        return grams.length;
+    }
+
+    /**
+     * The slip again, for reports and reprints. The ledger keeps figures, not what was
+     * typed, so the text fields are the canonical forms: {@code 12500} for a main weight
+     * typed as {@code 12,500.0}, a blank where a price or quality was zero, and the dust
+     * label taken from the discount.
+     */
+    Slip toSlip() {
+        int n = grams.length;
+        String dustLabel = discountBasisPoints == 150 ? "1.5" : discountBasisPoints == 100 ? "1" : "N";
+        List<String> subweights = new ArrayList<>(n);
+        List<String> typedQualities = new ArrayList<>(n);
+        List<Slip.Row> rows = new ArrayList<>(n);
+
+        for (int i = 0; i < n; i++) {
+            boolean dust = i == n - 1;
+            String q = dust ? dustLabel : plainMoney(qualities[i]);
+            subweights.add(Fixed.toPlain(grams[i], Fixed.WEIGHT));
+            typedQualities.add(dust ? "" : q);
+            rows.add(new Slip.Row(grams[i], dust, !dust && grams[i] > 0, rates[i], amounts[i], q));
+        }
+
+        SlipInput in = new SlipInput(truck, Fixed.toPlain(mainGrams, Fixed.WEIGHT), subweights,
+                plainMoney(price1), plainMoney(price2), typedQualities, dustLabel, plainMoney(gst));
+        return new Slip(in, mainGrams, rows, subtotal, discountBasisPoints, total, gst, finalAmount);
+    }
+
+    private static String plainMoney(long paise) {
+        return paise == 0 ? "" : Fixed.toPlain(paise, Fixed.MONEY);
+    }
+}
@@ -4,36 +4,37 @@ import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.DoubleBinding;
+import javafx.css.PseudoClass;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
-import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.printing.PDFPrintable;
 
 import java.awt.print.PrinterException;
 import java.awt.print.PrinterJob;
+import javax.print.PrintException;
 import javax.print.PrintService;
-import javax.print.PrintServiceLookup;
-import java.io.File;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.text.DecimalFormat;
+import java.nio.file.Path;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Main extends Application {
 
@@ -46,126 +47,366 @@ public class Main extends Application {
     private TextField price1Field;
     private TextField price2Field;
     private TextField mainWeightField;
+    private FixedInput price1;        // the fields' values as typed (see FixedInput)
+    private FixedInput price2;
+    private FixedInput mainWeight;
 
     // Buttons (kept in overlay)
     private HBox bottomButtons;
     private javafx.scene.control.Button printButton;
     private javafx.scene.control.Button resetButton;
 
-    // Top-right truck number (fixed)
+    // Top-right truck number (fixed) + autocomplete from slip history
     private TextField truckNumberField;
+    private ListView<TruckIndex.Profile> truckSuggestions;
+    private final TruckIndex truckIndex = new TruckIndex();
+    private TruckIndex.Profile truckProfile;   // picked truck, used to pre-fill rates and qualities
+    private RateCardWatcher rateCard;           // office rate card, reloaded when the file changes
+    private Label statusLine;                   // bottom-left notices for the operator
+    private boolean applyingTruck = false;
 
     // Right: subweights area and totals area (wrapped inside ScrollPane)
     private VBox rightContainer;
     private ScrollPane rightScrollPane;
     private VBox swArea;
     private VBox totalsArea;
-    private StackPane loaderOverlay;
+    private Label totalVal;
+    private Label finalVal;
     private TextField gstField;
+    private FixedInput gst;
 
-    // Live SWs (created while user enters)
-    private final List<TextField> swLive = new ArrayList<>();
+    // Open trucks; the nodes below show `current`, whose model is `form`
+    private static final int MAX_TRUCKS = 9;
+    private static final PseudoClass CURRENT_TAB = PseudoClass.getPseudoClass("current");
+    private final List<TruckTransaction> trucks = new ArrayList<>();
+    private TruckTransaction current;
+    private SlipForm form;
+    private int truckCounter = 0;
+    private boolean switching = false;   // rebinding the view: field listeners leave the model alone
+    private HBox truckTabs;
+    private EntryJournal journal;   // open trucks as of each ENTER, replayed after a crash
+
+    private boolean refreshQueued = false;   // a redraw of changed rows/totals is due next pulse
+
+    // Row nodes are created once and rebound for every truck (see SwRow)
+    private final List<SwRow> rowPool = new ArrayList<>();
 
-    // After finish: lists for sw (read-only), price results and quality fields
-    private final List<TextField> swFields = new ArrayList<>();
-    private final List<TextField> priceFields = new ArrayList<>();
-    private final List<TextField> qualityFields = new ArrayList<>();
-    private ComboBox<String> dustDiscountBox; // reference to dust combo box
+    // Live SWs (pooled rows in entry mode)
+    private final List<TextField> swLive = new ArrayList<>();
 
-    private boolean subweightsFinished = false;
+    // After finish: the priced rows are cells of rowsView, which only builds what fits on
+    // screen and reads each row from the form by index; the dust row is a pooled row below it
+    private ListView<Integer> rowsView;
+    private final RowIndexes rowIndexes = new RowIndexes();
+    private final List<RowCell> rowCells = new ArrayList<>();      // every cell rowsView has made
+    private final List<String> rowQualities = new ArrayList<>();   // quality text per priced row
+    private ComboBox<String> dustDiscountBox; // single dust combo box, moved onto the dust row
 
     private DoubleBinding fontSize;
-    private final DecimalFormat moneyFmt = new DecimalFormat("#,##0");  // Remove .00
+
+    // Durable record of every printed slip (null if the data dir could not be opened).
+    // Opened by the print thread's first job and only touched from that thread afterwards.
+    private SlipLedger ledger;
+    private volatile HubClient hub;   // ships ledger records to the LAN hub; null when standalone
+
+    // Single long-lived print thread; printer resolved in the background
+    private SlipPrintService printService;
+    private SlipPdfRenderer slipRenderer;    // created by the warm-up; print thread only
+    private SlipTextRenderer textRenderer;   // thermal/text terminals, print thread only
+    private volatile ReprintCache reprints;  // bytes of printed slips for F9; opened by the print thread
+    private SlipArchive archive;              // every slip, filed by day; written on its own thread
+
+    // Weighbridge indicator (null when no scale is configured). The reader thread parks the
+    // latest stable weight here and posts at most one pending runLater to pick it up.
+    private ScaleReader scale;
+    private final AtomicLong scaleReading = new AtomicLong(Fixed.INVALID);
+
+    private StatsView statsView;   // F10, created on first use
+
+    private FxWatchdog watchdog;
+
+    // open FINISH_SUBWEIGHTS timing; closed after the layout pass that shows the new rows
+    private Metrics.Timer finishTimer;
+    private Metrics.Timer resizeTimer;   // window height changed -> that layout done
 
     @Override
     public void start(Stage stage) {
         // Create main BorderPane layout
         root = new BorderPane();
-        root.setStyle("-fx-background-color: white;");
 
         // Overlay hosts root + floating elements (truck box and bottom buttons)
         overlay = new StackPane();
         overlay.getChildren().add(root);
 
         Scene scene = new Scene(overlay, 1600, 900);
+        scene.getStylesheets().add(Main.class.getResource("slip.css").toExternalForm());
+
+        // the whole form scales off the root font (slip.css sizes are in em)
         fontSize = scene.heightProperty().divide(30);
+        overlay.styleProperty().bind(Bindings.format(Locale.ROOT, "-fx-font-size: %.1fpx;", fontSize));
+        scene.heightProperty().addListener((o, ov, nv) -> {
+            if (resizeTimer != null) return;
+            resizeTimer = Metrics.time(Metrics.Stage.RESIZE);   // closed after the next layout
+            Platform.requestNextPulse();
+        });
+        watchdog = FxWatchdog.start(scene);
+
+        current = new TruckTransaction(++truckCounter);
+        form = current.form;
+        trucks.add(current);
+        try {
+            journal = EntryJournal.open(DataDirs.root().resolve(EntryJournal.FILE_NAME));
+        } catch (IOException e) {
+            e.printStackTrace();   // no crash recovery this run, but the counter still works
+        }
 
+        // Only what the first keystrokes need is built before the window shows:
+        // truck number, prices and main weight. The rest follows on the next pulse.
         buildLeftContainer();
-        buildRightContainer(scene);
         buildTopRightTruckField();
-        buildBottomButtons();
-        buildLoader();
-
-        bottomButtons.setVisible(false);
-        bottomButtons.setManaged(false);
-
-        // ensure truck number is focused at start
-        Platform.runLater(() -> {
-            if (truckNumberField != null) truckNumberField.requestFocus();
+        buildStatusLine();
+        rateCard = RateCardWatcher.start(DataDirs.root().resolve(RateCard.FILE_NAME), this::onRateCardReloaded);
+
+        // Print thread: open the ledger, then warm PDFBox/AWT while the operator types
+        archive = SlipArchive.startDefault();
+        printService = new SlipPrintService(PrintSettings.load());
+        textRenderer = SlipTextRenderer.forSettings(printService.settings());
+        printService.submit((printer, silent) -> openLedger());
+        printService.submit((printer, silent) -> {
+            PrintWarmup.run(pdfRenderer(), textRenderer, printer, printService.settings());
+            StartupTimings.mark(StartupTimings.Mark.WARM);
         });
 
-        // listeners to recompute when base prices change
-        price1Field.textProperty().addListener((o, ov, nv) -> recomputeAllRows());
-        price2Field.textProperty().addListener((o, ov, nv) -> recomputeAllRows());
+        ScaleSettings scaleSettings = ScaleSettings.load();
+        if (scaleSettings.enabled()) scale = ScaleReader.start(scaleSettings, this::onScaleReading);
 
-        // Key handling (ENTER / F1 reset / F4 exit)
-        scene.setOnKeyPressed(ev -> {
-            if (ev.getCode() == KeyCode.F1) {
-                resetAll(stage);
-                ev.consume();
-                return;
-            }
-            if (ev.getCode() == KeyCode.F4) {
-                Platform.exit();
-                return;
-            }
-            if (ev.getCode() == KeyCode.ENTER) {
-                handleEnter(stage);
-                ev.consume();
-            }
+        // base prices reprice every row in the model; the view catches up once per pulse
+        price1Field.textProperty().addListener((o, ov, nv) -> {
+            if (switching) return;
+            form.setPrice1(price1.value());
+            requestRefresh();
+        });
+        price2Field.textProperty().addListener((o, ov, nv) -> {
+            if (switching) return;
+            form.setPrice2(price2.value());
+            requestRefresh();
         });
+        applyDefaultRate();
+
+        // Key handling (see onKey)
+        scene.setOnKeyPressed(ev -> onKey(ev, stage));
 
         stage.setScene(scene);
         stage.setFullScreen(true);
         stage.setTitle("Rajdhani Casting Demo");
         stage.show();
+        StartupTimings.mark(StartupTimings.Mark.SHOWN);
+
+        // ensure truck number is focused at start
+        Platform.runLater(() -> {
+            truckNumberField.requestFocus();
+            StartupTimings.mark(StartupTimings.Mark.INPUT);
+        });
+        Platform.runLater(() -> buildDeferred(scene));
+        Metrics.registerJmxAsync();
     }
 
-    private void buildLoader() {
-        loaderOverlay = new StackPane();
-        loaderOverlay.setStyle("-fx-background-color: rgba(0,0,0,0.4);");
-        loaderOverlay.setVisible(false);
-        loaderOverlay.setManaged(false);
+    // ENTER / F1 reset / F2 new truck / F3 next truck / F4 exit / F9 reprint / F10 stats / F12 metrics dump
+    private void onKey(KeyEvent ev, Stage stage) {
+        if (ev.getCode() == KeyCode.F1) {
+            resetAll();
+            ev.consume();
+            return;
+        }
+        if (ev.getCode() == KeyCode.F2) {
+            openTruck();
+            ev.consume();
+            return;
+        }
+        if (ev.getCode() == KeyCode.F3) {
+            cycleTruck(ev.isShiftDown() ? -1 : 1);
+            ev.consume();
+            return;
+        }
+        if (ev.isControlDown() && ev.getCode().isDigitKey()) {
+            int n = ev.getCode().getCode() - KeyCode.DIGIT1.getCode();
+            if (n >= 0 && n < trucks.size()) switchTo(trucks.get(n));
+            ev.consume();
+            return;
+        }
+        if (ev.getCode() == KeyCode.F4) {
+            Platform.exit();
+            return;
+        }
+        if (ev.getCode() == KeyCode.F9) {
+            reprint(truckNumberField.getText());
+            ev.consume();
+            return;
+        }
+        if (ev.getCode() == KeyCode.F10) {
+            if (statsView == null) statsView = new StatsView(stage);
+            statsView.show();
+            ev.consume();
+            return;
+        }
+        if (ev.getCode() == KeyCode.F12) {
+            dumpMetrics();
+            ev.consume();
+            return;
+        }
+        if (ev.getCode() == KeyCode.ENTER) {
+            try (Metrics.Timer t = Metrics.time(Metrics.Stage.ENTER)) {
+                handleEnter(stage);
+            }
+            journalStep();
+            ev.consume();
+        }
+    }
 
-        ProgressIndicator pi = new ProgressIndicator();
-        pi.setMaxSize(120, 120);
+    // Sub-weight area, totals and buttons: not needed until the main weight has been entered
+    private void buildDeferred(Scene scene) {
+        buildRightContainer(scene);
+        buildBottomButtons();
+        buildDustDiscountBox();
+        buildTruckTabs();
 
-        loaderOverlay.getChildren().add(pi);
-        StackPane.setAlignment(pi, Pos.CENTER);
+        bottomButtons.setVisible(false);
+        bottomButtons.setManaged(false);
 
-        overlay.getChildren().add(loaderOverlay);
+        scene.addPreLayoutPulseListener(this::flushRefresh);
+        scene.addPostLayoutPulseListener(() -> {
+            if (resizeTimer != null) {
+                resizeTimer.close();
+                resizeTimer = null;
+            }
+            if (finishTimer == null) return;
+            finishTimer.close();
+            finishTimer = null;
+        });
+        restoreJournal();
+        StartupTimings.mark(StartupTimings.Mark.UI);
     }
 
-
     // ---------------- Build top-right truck field ----------------
     private void buildTopRightTruckField() {
         truckNumberField = new TextField();
         truckNumberField.setPromptText("Truck Number");
         truckNumberField.setPrefWidth(260);
-        truckNumberField.fontProperty().bind(Bindings.createObjectBinding(
-                () -> Font.font(fontSize.get()), fontSize));
-        truckNumberField.setStyle("-fx-border-color: black; -fx-border-width: 3; -fx-background-color: white;");
+        truckNumberField.getStyleClass().add("field");
+
+        truckSuggestions = new ListView<>();
+        truckSuggestions.setFocusTraversable(false);
+        truckSuggestions.setPrefWidth(260);
+        truckSuggestions.setMaxHeight(200);
+        truckSuggestions.setVisible(false);
+        truckSuggestions.setManaged(false);
+        truckSuggestions.setCellFactory(lv -> new ListCell<>() {
+            @Override
+            protected void updateItem(TruckIndex.Profile p, boolean empty) {
+                super.updateItem(p, empty);
+                setText(empty || p == null ? null
+                        : p.truck() + "   " + Fixed.formatMoney(p.price1()) + " / " + Fixed.formatMoney(p.price2()));
+            }
+        });
+        truckSuggestions.setOnMouseClicked(ev -> {
+            TruckIndex.Profile p = truckSuggestions.getSelectionModel().getSelectedItem();
+            if (p != null) {
+                applyTruckProfile(p);
+                mainWeightField.requestFocus();
+            }
+        });
+
+        truckNumberField.textProperty().addListener((o, ov, nv) -> {
+            refreshTruckSuggestions(nv);
+            if (truckTabs != null && !switching) renderTruckTabs();
+        });
+        truckNumberField.addEventFilter(KeyEvent.KEY_PRESSED, ev -> {
+            if (!truckSuggestions.isVisible()) return;
+            int n = truckSuggestions.getItems().size();
+            int sel = truckSuggestions.getSelectionModel().getSelectedIndex();
+            if (ev.getCode() == KeyCode.DOWN) {
+                truckSuggestions.getSelectionModel().select(Math.min(sel + 1, n - 1));
+                ev.consume();
+            } else if (ev.getCode() == KeyCode.UP) {
+                if (sel <= 0) truckSuggestions.getSelectionModel().clearSelection();
+                else truckSuggestions.getSelectionModel().select(sel - 1);
+                ev.consume();
+            } else if (ev.getCode() == KeyCode.ESCAPE) {
+                hideTruckSuggestions();
+                ev.consume();
+            }
+        });
+
+        VBox truckBox = new VBox(2, truckNumberField, truckSuggestions);
 
         HBox topBar = new HBox();
         topBar.setPadding(new Insets(8, 24, 0, 0));
         topBar.setAlignment(Pos.TOP_RIGHT);
-        topBar.getChildren().add(truckNumberField);
+        topBar.getChildren().add(truckBox);
 
         overlay.getChildren().add(topBar);
         StackPane.setAlignment(topBar, Pos.TOP_RIGHT);
         StackPane.setMargin(topBar, new Insets(8, 24, 0, 0));
     }
 
+    private void refreshTruckSuggestions(String text) {
+        if (applyingTruck || switching) return;
+        List<TruckIndex.Profile> hits = truckIndex.suggest(text, 8);
+        if (hits.isEmpty() || !truckNumberField.isFocused()) {
+            hideTruckSuggestions();
+            return;
+        }
+        truckSuggestions.getItems().setAll(hits);
+        truckSuggestions.getSelectionModel().clearSelection();
+        truckSuggestions.setPrefHeight(hits.size() * 32 + 4);
+        truckSuggestions.setVisible(true);
+        truckSuggestions.setManaged(true);
+    }
+
+    private void hideTruckSuggestions() {
+        truckSuggestions.setVisible(false);
+        truckSuggestions.setManaged(false);
+        truckSuggestions.getItems().clear();
+    }
+
+    // Fills truck number and the usual rates; quality values are applied once rows exist
+    private void applyTruckProfile(TruckIndex.Profile p) {
+        hideTruckSuggestions();
+        truckProfile = p;
+        if (p != null) {
+            applyingTruck = true;
+            try {
+                truckNumberField.setText(p.truck());
+            } finally {
+                applyingTruck = false;
+            }
+            if (p.price1() != 0) price1Field.setText(Fixed.toPlain(p.price1(), Fixed.MONEY));
+            if (p.price2() != 0) price2Field.setText(Fixed.toPlain(p.price2(), Fixed.MONEY));
+        }
+
+        // a customer rate on the office's card beats what the truck paid last time
+        RateCard.Rate rate = rateCard.card().forTruck(truckNumberField.getText());
+        if (rate != null) applyRate(rate);
+    }
+
+    // ---------------- Rate card ----------------
+    // New trucks start on the card's default rate; one hash lookup on whatever card is current
+    private void applyDefaultRate() {
+        RateCard.Rate rate = rateCard.card().defaultRate();
+        if (rate != null) applyRate(rate);
+    }
+
+    private void applyRate(RateCard.Rate rate) {
+        price1Field.setText(rate.price1() == 0 ? "" : Fixed.toPlain(rate.price1(), Fixed.MONEY));
+        price2Field.setText(rate.price2() == 0 ? "" : Fixed.toPlain(rate.price2(), Fixed.MONEY));
+    }
+
+    // A grade code typed as the quality ("A") becomes its premium from the card
+    private void expandGrade(TextField quality) {
+        long premium = rateCard.card().grade(quality.getText());
+        if (premium != Fixed.INVALID) quality.setText(Fixed.toPlain(premium, Fixed.MONEY));
+    }
+
     // ---------------- Build left container ----------------
     private void buildLeftContainer() {
         leftContainer = new VBox();
@@ -178,6 +419,8 @@ public class Main extends Application {
         priceStack.setAlignment(Pos.TOP_LEFT);
         price1Field = makeField("Price 1 (per ton)", 220);
         price2Field = makeField("Price 2 (per ton)", 220);
+        price1 = FixedInput.money(price1Field);
+        price2 = FixedInput.money(price2Field);
         priceStack.getChildren().addAll(price1Field, price2Field);
 
         priceStack.setVisible(true);
@@ -190,6 +433,7 @@ public class Main extends Application {
         spacer.prefHeightProperty().bind(root.heightProperty().multiply(0.15));
 
         mainWeightField = makeField("Main Weight (kg)", 440);
+        mainWeight = FixedInput.weight(mainWeightField);
 
         leftContainer.getChildren().addAll(priceStack, spacer, mainWeightField);
         root.setLeft(leftContainer);
@@ -209,11 +453,9 @@ public class Main extends Application {
         swArea = new VBox(12);
         swArea.setAlignment(Pos.TOP_LEFT);
         addSwLiveField();
+        buildRowsView(scene);
 
-        totalsArea = new VBox(12);
-        totalsArea.setAlignment(Pos.CENTER);
-        totalsArea.setVisible(false);
-        totalsArea.setManaged(false);
+        buildTotalsArea();
 
         rightContainer.getChildren().addAll(swArea, totalsArea);
 
@@ -222,13 +464,138 @@ public class Main extends Application {
         rightScrollPane.setFitToHeight(true);
         rightScrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
         rightScrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-        rightScrollPane.setStyle("-fx-background: white; -fx-background-color: white;");
-        rightContainer.setStyle("-fx-background-color: white;");
+        rightScrollPane.getStyleClass().add("right-pane");
         rightScrollPane.setFocusTraversable(false);
 
         root.setCenter(rightScrollPane);
     }
 
+    // ---------------- Finished rows (virtualized) ----------------
+    // Every cell has the same height, so scrolling, resizing and a font change never measure
+    // rows, and only the cells on screen exist. The list is at most half the window high.
+    private void buildRowsView(Scene scene) {
+        rowsView = new ListView<>(rowIndexes);
+        rowsView.setCellFactory(v -> new RowCell());
+        rowsView.setFocusTraversable(false);
+        rowsView.getStyleClass().add("sub-weight-rows");
+        rowsView.fixedCellSizeProperty().bind(fontSize.multiply(2).add(18));
+        rowsView.prefHeightProperty().bind(Bindings.createDoubleBinding(
+                () -> Math.min(rowIndexes.size() * rowsView.getFixedCellSize() + 2,
+                        Math.max(3 * rowsView.getFixedCellSize(), scene.getHeight() * 0.5)),
+                rowIndexes, rowsView.fixedCellSizeProperty(), scene.heightProperty()));
+        rowsView.setMinHeight(Region.USE_PREF_SIZE);
+
+        // ENTER and the shortcuts belong to the form, not to ListView's selection/edit keys
+        rowsView.addEventFilter(KeyEvent.KEY_PRESSED, ev -> {
+            KeyCode code = ev.getCode();
+            if (code == KeyCode.ENTER || code.isFunctionKey() || (ev.isControlDown() && code.isDigitKey())) {
+                onKey(ev, (Stage) scene.getWindow());
+                ev.consume();
+            }
+        });
+    }
+
+    // Row of the focused quality field (the dust discount counts as the last row), or -1
+    private int qualityIndex(Object focused) {
+        if (!form.subweightsFinished() || form.dustOnly()) return -1;
+        if (focused == dustDiscountBox || focused == dustDiscountBox.getEditor()) return form.rowCount() - 1;
+        for (RowCell c : rowCells) {
+            if (c.quality == focused && !c.isEmpty()) return c.getIndex();
+        }
+        return -1;
+    }
+
+    // Focuses row i's quality field, scrolling just enough to show it whole; the last row is the dust discount
+    private TextField focusQuality(int i) {
+        if (i >= rowQualities.size()) {
+            dustDiscountBox.getEditor().requestFocus();
+            return dustDiscountBox.getEditor();
+        }
+        RowCell cell = cellFor(i);
+        double size = rowsView.getFixedCellSize();
+        if (cell == null || cell.getLayoutY() < 0 || cell.getLayoutY() + size > rowsView.getHeight()) {
+            boolean below = cell != null ? cell.getLayoutY() >= 0 : i > firstShownRow();
+            int fit = Math.max(1, (int) (rowsView.getHeight() / size));
+            rowsView.scrollTo(below ? Math.max(0, i - fit + 1) : i);
+            overlay.applyCss();
+            overlay.layout();   // lay the cells out now rather than on the next pulse
+            cell = cellFor(i);
+        }
+        if (cell == null) return null;
+        cell.quality.requestFocus();
+        return cell.quality;
+    }
+
+    private RowCell cellFor(int i) {
+        for (RowCell c : rowCells) {
+            if (c.isVisible() && !c.isEmpty() && c.getIndex() == i) return c;
+        }
+        return null;
+    }
+
+    private int firstShownRow() {
+        int first = Integer.MAX_VALUE;
+        for (RowCell c : rowCells) {
+            if (c.isVisible() && !c.isEmpty() && c.getIndex() >= 0) first = Math.min(first, c.getIndex());
+        }
+        return first == Integer.MAX_VALUE ? 0 : first;
+    }
+
+    // One priced row: sub-weight, rate and quality, rebound by index as the list scrolls
+    private final class RowCell extends ListCell<Integer> {
+        final HBox box = new HBox(12);
+        final TextField sw = makeField("", 360);
+        final TextField price = makePriceResult(220);
+        final TextField quality = makeQualityField(180);
+        final FixedInput qualityValue = FixedInput.quality(quality);
+        private boolean binding;
+
+        RowCell() {
+            sw.setEditable(false);
+            box.setAlignment(Pos.CENTER_LEFT);
+            box.getChildren().addAll(sw, makeMultiplyLabel(), price, quality);
+            setText(null);
+
+            // only this row is repriced; the view catches up on the next pulse
+            quality.textProperty().addListener((o, ov, nv) -> {
+                int i = getIndex();
+                if (binding || switching || isEmpty() || i < 0 || i >= rowQualities.size()) return;
+                rowQualities.set(i, nv);
+                form.setQuality(i, qualityValue.value());
+                requestRefresh();
+            });
+            rowCells.add(this);
+        }
+
+        // the items are bare indexes: after a truck switch, the same index is another row
+        @Override
+        protected boolean isItemChanged(Integer oldItem, Integer newItem) {
+            return true;
+        }
+
+        @Override
+        protected void updateItem(Integer item, boolean empty) {
+            super.updateItem(item, empty);
+            if (empty || item == null || item >= rowQualities.size()) {
+                setGraphic(null);
+                return;
+            }
+            binding = true;
+            sw.setText(Fixed.formatWeight(form.rows()[item]));
+            quality.setText(rowQualities.get(item));
+            binding = false;
+            showRate();
+            setGraphic(box);
+        }
+
+        void showRate() {
+            int i = getIndex();
+            if (isEmpty() || i < 0 || i >= rowQualities.size()) return;
+            long rate = form.rate(i);
+            price.setText(rate == 0 ? "" : Fixed.formatMoney(rate));
+        }
+    }
+
     // ---------------- Build bottom buttons ----------------
     private void buildBottomButtons() {
         printButton = new javafx.scene.control.Button("PRINT");
@@ -236,31 +603,9 @@ public class Main extends Application {
         printButton.setPrefWidth(200);
         resetButton.setPrefWidth(200);
 
-        // Simple focus style that makes selected button visible
-        printButton.setStyle(
-            "-fx-font-size: 18px; -fx-border-color: black; -fx-border-width: 3;" +
-            "-fx-background-color: #e3e3e3;" // default
-        );
-
-        resetButton.setStyle(
-            "-fx-font-size: 18px; -fx-border-color: black; -fx-border-width: 3;" +
-            "-fx-background-color: #e3e3e3;"
-        );
-
-        printButton.focusedProperty().addListener((obs, oldV, newV) -> {
-            if (newV)
-                printButton.setStyle("-fx-font-size: 18px; -fx-border-color: black; -fx-border-width: 3; -fx-background-color: yellow;");
-            else
-                printButton.setStyle("-fx-font-size: 18px; -fx-border-color: black; -fx-border-width: 3; -fx-background-color: #e3e3e3;");
-        });
-
-        resetButton.focusedProperty().addListener((obs, oldV, newV) -> {
-            if (newV)
-                resetButton.setStyle("-fx-font-size: 18px; -fx-border-color: black; -fx-border-width: 3; -fx-background-color: yellow;");
-            else
-                resetButton.setStyle("-fx-font-size: 18px; -fx-border-color: black; -fx-border-width: 3; -fx-background-color: #e3e3e3;");
-        });
-
+        // the focused button turns yellow (.slip-button:focused in slip.css)
+        printButton.getStyleClass().add("slip-button");
+        resetButton.getStyleClass().add("slip-button");
 
         printButton.setFocusTraversable(true);
         resetButton.setFocusTraversable(true);
@@ -275,14 +620,14 @@ public class Main extends Application {
 
         printButton.setOnKeyPressed(ev -> {
             if (ev.getCode() == KeyCode.ENTER) {
-                startPrintWithLoader();
+                submitPrint();
                 ev.consume();
             }
         });
 
         resetButton.setOnKeyPressed(ev -> {
             if (ev.getCode() == KeyCode.ENTER) {
-                resetAll((Stage) overlay.getScene().getWindow());
+                resetAll();
                 ev.consume();
             }
         });
@@ -296,40 +641,184 @@ public class Main extends Application {
         StackPane.setAlignment(bottomButtons, Pos.BOTTOM_RIGHT);
     }
 
-    private void startPrintWithLoader() {
-        loaderOverlay.setVisible(true);
-        loaderOverlay.setManaged(true);
+    // ---------------- Status line ----------------
+    // One line of background news (rate card reloaded, metrics written) where the operator sees it
+    private void buildStatusLine() {
+        statusLine = new Label();
+        statusLine.getStyleClass().add("status-line");
+        statusLine.setMouseTransparent(true);
+        overlay.getChildren().add(statusLine);
+        StackPane.setAlignment(statusLine, Pos.BOTTOM_LEFT);
+        StackPane.setMargin(statusLine, new Insets(0, 0, 12, 24));
+    }
 
-        new Thread(() -> {
-            try {
-                printSlip();   // heavy work (PDF generation)
-            } finally {
-                Platform.runLater(() -> {
-                    loaderOverlay.setVisible(false);
-                    loaderOverlay.setManaged(false);
-                    resetAll((Stage) overlay.getScene().getWindow());
-                });
-            }
-        }).start();
+    private void status(String text) {
+        FxWatchdog.checkFxThread("status");
+        statusLine.setText(LocalTime.now().withNano(0) + "  " + text);
+    }
+
+    // watch thread
+    private void onRateCardReloaded(RateCard card) {
+        Platform.runLater(() -> status("Rate card reloaded: " + card.size() + " rates and grades"));
+    }
+
+    private void submitPrint() {
+        TextField bad = outOfRange();
+        if (bad != null) {
+            bad.requestFocus();   // a typo too large to be real: fix it before anything prints
+            return;
+        }
+
+        // snapshot the form on the FX thread; the print thread only sees the immutable slip
+        Slip slip = currentSlip();
+        int number = current.number;
+        long queuedAt = System.nanoTime();
+
+        boolean queued = printService.submit((printer, silent) -> {
+            String id = recordSlip(slip, number);
+            printSlip(slip, id, printer, silent);   // heavy work (PDF generation)
+            StartupTimings.firstSlip(queuedAt);
+        });
+        if (!queued) {
+            // printer is stuck with a full queue; keep the form so nothing is lost
+            printButton.setText("QUEUE FULL");
+            return;
+        }
+
+        printButton.setText("PRINT");
+        closeTruck();
+    }
+
+
+    // The first field holding a number past FixedInput's range (shown :invalid), or null
+    private TextField outOfRange() {
+        if (!price1.inRange()) return price1Field;
+        if (!price2.inRange()) return price2Field;
+        if (!mainWeight.inRange()) return mainWeightField;
+        for (long grams : form.rows()) {
+            if (!FixedInput.inRange(grams, Fixed.WEIGHT)) return mainWeightField;
+        }
+        for (int i = 0; i < rowQualities.size(); i++) {
+            if (FixedInput.inRange(Fixed.tryParse(rowQualities.get(i), Fixed.MONEY), Fixed.MONEY)) continue;
+            TextField q = focusQuality(i);
+            return q != null ? q : price1Field;
+        }
+        return gst.inRange() ? null : gstField;
+    }
+
+    // ---------------- Ledger (print thread) ----------------
+    private void openLedger() {
+        try {
+            ledger = SlipLedger.openDefault();
+            ledger.open(System.currentTimeMillis());   // recovery scan of today's file
+            truckIndex.loadAsync(ledger.dir());
+            HubSettings hubSettings = HubSettings.load();
+            if (hubSettings.enabled()) hub = HubClient.start(hubSettings, ledger.dir());
+        } catch (IOException e) {
+            e.printStackTrace();
+            ledger = null;
+        }
+        try {
+            reprints = ReprintCache.openDefault(printService.settings());
+        } catch (IOException e) {
+            e.printStackTrace();   // slips still print, they just can't be reprinted
+        }
+    }
+
+    /**
+     * Appends the slip to the ledger; returns its id for the reprint cache. Only once the
+     * record is on disk is the truck dropped from the journal: until then its last STATE is
+     * what brings the slip back after a power cut.
+     */
+    private String recordSlip(Slip slip, int truckNumber) {
+        long now = System.currentTimeMillis();
+        if (ledger == null) return ReprintCache.slipId(now, 0);
+        try {
+            long seq = ledger.append(slip, now);   // forced before it returns
+            if (journal != null) journal.closed(truckNumber);
+            truckIndex.add(slip, now);
+            if (hub != null) hub.nudge();
+            return ReprintCache.slipId(now, seq);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return ReprintCache.slipId(now, 0);
+        }
+    }
+
+    // ---------------- Reprint ----------------
+    // F9: the newest cached slip of the truck in the truck field, or the newest slip of all.
+    // The lookup is in memory; reading and spooling the bytes happens on the print thread.
+    private void reprint(String truck) {
+        ReprintCache cache = reprints;
+        if (cache == null) return;
+        ReprintCache.Entry e = truck == null || truck.isBlank()
+                ? cache.last(1).stream().findFirst().orElse(null)
+                : cache.lastFor(truck);
+        if (e == null) {
+            System.err.println("reprint: nothing cached" + (truck == null || truck.isBlank() ? "" : " for " + truck));
+            return;
+        }
+        printService.submit((printer, silent) -> {
+            byte[] data = cache.read(e);
+            if (data != null) ReprintCache.print(e, data, printer, printService.settings());
+        });
+    }
+
+    // print thread: the archive copy is queued, the reprint copy written here; a failure in
+    // either costs that copy, never the slip
+    private void keepSlip(String id, Slip slip, byte[] data, boolean pdf) {
+        if (archive != null) archive.save(id, slip.input().truck(), data, pdf);
+        ReprintCache cache = reprints;
+        if (cache == null) return;
+        try {
+            cache.put(id, slip.input().truck(), data, pdf);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 
+    // ---------------- Weighbridge ----------------
+    // reader thread: never blocks, never floods the FX queue
+    private void onScaleReading(long grams) {
+        if (scaleReading.getAndSet(grams) == Fixed.INVALID) Platform.runLater(this::applyScaleReading);
+    }
+
+    // Fills the focused weight field; the operator still confirms with ENTER
+    private void applyScaleReading() {
+        FxWatchdog.checkFxThread("applyScaleReading");
+        long grams = scaleReading.getAndSet(Fixed.INVALID);
+        if (grams == Fixed.INVALID) return;
+
+        Object focused = overlay.getScene().getFocusOwner();
+        boolean weightField = focused == mainWeightField
+                || (!form.subweightsFinished() && swLive.contains(focused));
+        if (!weightField) return;
+
+        TextField tf = (TextField) focused;
+        tf.setText(Fixed.toPlain(grams, Fixed.WEIGHT));
+        tf.positionCaret(tf.getText().length());
+    }
+
+    @Override
+    public void stop() throws Exception {
+        if (scale != null) scale.close();
+        if (printService != null) printService.close();   // drain queued slips first
+        if (archive != null) archive.close();             // then their archive copies
+        if (hub != null) hub.close();                     // unsent slips wait in the ledger
+        if (rateCard != null) rateCard.close();
+        if (journal != null) journal.close();             // trucks still open are replayed next start
+        if (ledger != null) ledger.close();
+        StartupTimings.write();                           // no-op if the first slip already wrote it
+        if (watchdog != null) watchdog.close();
+    }
 
     // ---------------- UI helpers ----------------
+    // Look and font size come from slip.css, so a resize touches no per-field binding
     private TextField makeField(String prompt, double width) {
         TextField tf = new TextField();
         tf.setPromptText(prompt);
         tf.setPrefWidth(width);
-        tf.fontProperty().bind(Bindings.createObjectBinding(() -> Font.font(fontSize.get()), fontSize));
-        tf.setStyle("-fx-border-color: black; -fx-border-width: 3; -fx-background-color: white;");
-        return tf;
-    }
-
-    private TextField makeReadOnly(double width, String text) {
-        TextField tf = new TextField(text);
-        tf.setEditable(false);
-        tf.setPrefWidth(width);
-        tf.fontProperty().bind(Bindings.createObjectBinding(() -> Font.font(fontSize.get()), fontSize));
-        tf.setStyle("-fx-border-color: black; -fx-border-width: 3; -fx-background-color: white;");
+        tf.getStyleClass().add("field");
         return tf;
     }
 
@@ -337,40 +826,75 @@ public class Main extends Application {
         TextField tf = new TextField();
         tf.setEditable(false);
         tf.setPrefWidth(width);
-        tf.fontProperty().bind(Bindings.createObjectBinding(() -> Font.font(fontSize.get() * 0.85), fontSize));
-        tf.setStyle("-fx-border-color: black; -fx-border-width: 3; -fx-background-color: white;");
-        tf.setText("");
-        tf.setVisible(true);
-        tf.setManaged(true);
+        tf.getStyleClass().addAll("field", "price-result");
         return tf;
     }
 
     private TextField makeQualityField(double width) {
         TextField tf = new TextField();
         tf.setPrefWidth(width);
-        tf.fontProperty().bind(Bindings.createObjectBinding(() -> Font.font(fontSize.get() * 0.85), fontSize));
-        tf.setStyle("-fx-border-color: black; -fx-border-width: 3; -fx-background-color: white;");
+        tf.getStyleClass().addAll("field", "quality-field");
         return tf;
     }
 
     private Label makeMultiplyLabel() {
-        Label l = new Label("×");
-        l.fontProperty().bind(Bindings.createObjectBinding(() -> Font.font(fontSize.get() * 0.9), fontSize));
+        Label l = new Label("\u00d7");
         l.setMinWidth(30);
-        l.setAlignment(Pos.CENTER);
+        l.getStyleClass().add("multiply");
         return l;
     }
 
     // ---------------- Live SW entry ----------------
     private void addSwLiveField() {
-        TextField sw = makeField("", 360);
-        HBox row = new HBox(12);
-        row.setAlignment(Pos.CENTER_LEFT);
-        row.getChildren().add(sw);
+        SwRow row = pooledRow(swLive.size());
+        row.bindLive();
+
+        swArea.getChildren().add(row.box);
+        swLive.add(row.sw);
+        row.sw.requestFocus();
+    }
 
-        swArea.getChildren().add(row);
-        swLive.add(sw);
-        sw.requestFocus();
+    private SwRow pooledRow(int index) {
+        while (rowPool.size() <= index) rowPool.add(new SwRow());
+        return rowPool.get(index);
+    }
+
+    // ---------------- Pooled sub-weight row ----------------
+    // One HBox for a live entry, later reused for the dust row under the finished rows.
+    private final class SwRow {
+        final HBox box = new HBox(12);
+        final TextField sw = makeField("", 360);
+        final FixedInput swValue = FixedInput.weight(sw);
+        final Region mulGap = new Region();
+        final Region priceGap = new Region();
+
+        SwRow() {
+            box.setAlignment(Pos.CENTER_LEFT);
+            mulGap.setPrefWidth(30);
+            priceGap.setPrefWidth(220);
+        }
+
+        void bindLive() {
+            sw.setEditable(true);
+            sw.clear();
+            box.getChildren().setAll(sw);
+        }
+
+        void bindDust(String swText, ComboBox<String> discount) {
+            sw.setEditable(false);
+            sw.setText(swText);
+            box.getChildren().setAll(sw, mulGap, priceGap, discount);
+        }
+
+        void bindDustOnly(String swText) {
+            sw.setEditable(false);
+            sw.setText(swText);
+            box.getChildren().setAll(sw);
+        }
+
+        void clear() {
+            sw.clear();
+        }
     }
 
     // ---------------- ENTER flow ----------------
@@ -378,6 +902,9 @@ public class Main extends Application {
         Object focused = stage.getScene().getFocusOwner();
 
         if (focused == truckNumberField) {
+            TruckIndex.Profile picked = truckSuggestions.isVisible()
+                    ? truckSuggestions.getSelectionModel().getSelectedItem() : null;
+            applyTruckProfile(picked != null ? picked : truckIndex.lookup(truckNumberField.getText()));
             mainWeightField.requestFocus();
             return;
         }
@@ -387,7 +914,7 @@ public class Main extends Application {
             return;
         }
 
-        if (!subweightsFinished) {
+        if (!form.subweightsFinished()) {
             for (int i = 0; i < swLive.size(); i++) {
                 TextField sw = swLive.get(i);
                 if (focused == sw) {
@@ -408,22 +935,16 @@ public class Main extends Application {
             return;
         }
         if (focused == price2Field) {
-            for (TextField q : qualityFields) {
-                if (q != null && q.isVisible()) { q.requestFocus(); return; }
-            }
+            if (form.subweightsFinished() && !form.dustOnly()) focusQuality(0);
             return;
         }
 
-        for (int i = 0; i < qualityFields.size(); i++) {
-            TextField q = qualityFields.get(i);
-            if (q == null) continue;
-            if (focused == q) {
-                computeRowPrice(i);
-                int next = nextVisibleQuality(i);
-                if (next >= 0) qualityFields.get(next).requestFocus();
-                else showTotals();
-                return;
-            }
+        int q = qualityIndex(focused);
+        if (q >= 0) {
+            if (q < rowQualities.size()) expandGrade((TextField) focused);
+            if (q + 1 < form.rowCount()) focusQuality(q + 1);
+            else showTotals();
+            return;
         }
 
         if (focused == gstField) {
@@ -438,240 +959,168 @@ public class Main extends Application {
         }
     }
 
-    private int nextVisibleQuality(int from) {
-        for (int j = from + 1; j < qualityFields.size(); j++) {
-            TextField tf = qualityFields.get(j);
-            if (tf != null && tf.isVisible()) return j;
-        }
-        return -1;
-    }
-
     // ---------------- Finish SWs when sentinel entered during live entry ----------------
+    // the live rows are the first pooled rows, and each already holds its parsed grams
     private void finishSubweightsFromLive(int sentinelIndex) {
-        List<String> raw = new ArrayList<>();
-        for (int i = 0; i < sentinelIndex; i++) raw.add(swLive.get(i).getText().trim());
-        finishSubweightsFromRaw(raw);
+        List<String> raw = new ArrayList<>(sentinelIndex);
+        long[] entries = new long[sentinelIndex];
+        for (int i = 0; i < sentinelIndex; i++) {
+            raw.add(swLive.get(i).getText());
+            entries[i] = rowPool.get(i).swValue.parsed();
+        }
+        finishSubweightsFromRaw(raw, entries);
     }
 
-    private void finishSubweightsFromRaw(List<String> raw) {
-        subweightsFinished = true;
-
-        List<Double> entries = new ArrayList<>();
-        for (String s : raw) {
-            if (s == null || s.trim().isEmpty()) entries.add(null);
-            else {
-                try { entries.add(Double.parseDouble(s.replace(",", ""))); }
-                catch (Exception ex) { entries.add(null); }
+    private void finishSubweightsFromRaw(List<String> raw, long[] entries) {
+        finishTimer = Metrics.time(Metrics.Stage.FINISH_SUBWEIGHTS);
+        Platform.requestNextPulse();
+        form.finishSubweights(mainWeight.value(), raw, entries);
+        if (!bindFinishedRows()) return;
+
+        // returning truck: pre-fill its last quality premiums (the model prices each row as it is set)
+        if (truckProfile != null) {
+            long[] q = truckProfile.qualities();
+            for (int i = 0; i < rowQualities.size() && i < q.length; i++) {
+                if (q[i] == 0) continue;
+                rowQualities.set(i, Fixed.toPlain(q[i], Fixed.MONEY));
+                form.setQuality(i, q[i]);
             }
         }
+        requestRefresh();
 
-        int lastNonNullIndex = -1;
-        for (int i = entries.size() - 1; i >= 0; i--) {
-            if (entries.get(i) != null) { lastNonNullIndex = i; break; }
-        }
-
-        double mainKg = safeParse(mainWeightField.getText());
+        price1Field.requestFocus();
+        totalsArea.setVisible(false);
+        totalsArea.setManaged(false);
+    }
 
-        if (entries.isEmpty() || lastNonNullIndex == -1) {
-            swArea.getChildren().clear();
-            swFields.clear(); priceFields.clear(); qualityFields.clear();
+    // Points the row list at the model's final rows; false for a dust-only truck (focus already set)
+    private boolean bindFinishedRows() {
+        long[] finalSWs = form.rows();
 
-            TextField dust = makeReadOnly(360, moneyFmt.format(mainKg));
-            HBox row = new HBox(12);
-            row.setAlignment(Pos.CENTER_LEFT);
-            row.getChildren().add(dust);
-            swArea.getChildren().add(row);
+        swArea.getChildren().clear();
+        rowQualities.clear();
+        SwRow dust = pooledRow(0);   // live entry is over, so the first pooled row is free
 
-            swFields.add(dust);
-            priceFields.add(makePriceResult(220)); priceFields.get(0).setVisible(false); priceFields.get(0).setManaged(false);
-            qualityFields.add(makeQualityField(180)); qualityFields.get(0).setVisible(false); qualityFields.get(0).setManaged(false);
+        if (form.dustOnly()) {
+            rowIndexes.reset(0);
+            dust.bindDustOnly(Fixed.formatWeight(finalSWs[0]));
+            swArea.getChildren().add(dust.box);
 
             price1Field.setDisable(false);
             price2Field.setDisable(false);
             priceStack.setVisible(true);
             priceStack.setManaged(true);
             price1Field.requestFocus();
-            return;
+            return false;
         }
 
-        double dustValue = entries.get(lastNonNullIndex);
-
-        List<Double> preDust = new ArrayList<>();
-        for (int i = 0; i < lastNonNullIndex; i++) preDust.add(entries.get(i));
-
-        double sumPre = 0;
-        int firstEmptyIndex = -1;
-        for (int i = 0; i < preDust.size(); i++) {
-            Double v = preDust.get(i);
-            if (v == null) { if (firstEmptyIndex == -1) firstEmptyIndex = i; }
-            else sumPre += v;
+        int priced = finalSWs.length - 1;
+        for (int i = 0; i < priced; i++) rowQualities.add("");
+        rowIndexes.reset(priced);   // cells bind on the next layout, however many rows there are
+        if (priced > 0) {
+            rowsView.scrollTo(0);
+            swArea.getChildren().add(rowsView);
         }
 
-        double sumWithDust = sumPre + dustValue;
-        double remaining = mainKg - sumWithDust;
-        if (remaining < 0) remaining = 0;
-
-        if (firstEmptyIndex != -1) {
-            preDust.set(firstEmptyIndex, remaining);
-        } else {
-            if (!preDust.isEmpty()) {
-                Double v0 = preDust.get(0);
-                if (v0 == null) v0 = 0.0;
-                preDust.set(0, v0 + remaining);
-            } else {
-                preDust.add(remaining);
-            }
-        }
-
-        List<Double> finalSWs = new ArrayList<>();
-        for (Double d : preDust) finalSWs.add(d == null ? 0.0 : d);
-        finalSWs.add(dustValue);
-
-        swArea.getChildren().clear();
-        swFields.clear(); priceFields.clear(); qualityFields.clear();
-
-        for (int i = 0; i < finalSWs.size(); i++) {
-            double val = finalSWs.get(i);
-            boolean isDust = (i == finalSWs.size() - 1);
-
-            TextField swR = makeReadOnly(360, moneyFmt.format(val));
-            Label mul = makeMultiplyLabel();
-            TextField priceRes = makePriceResult(220);
-            priceRes.setVisible(true);
-            priceRes.setManaged(true);
-            TextField qual = makeQualityField(180);
-
-            if (isDust) {
-                Region mulEmpty = new Region(); mulEmpty.setPrefWidth(30);
-                Region priceEmpty = new Region(); priceEmpty.setPrefWidth(220);
-
-                ComboBox<String> discount = new ComboBox<>();
-                discount.setEditable(true);
-                discount.getItems().addAll("1.5", "N", "1");
-                discount.setValue("1.5");
-                discount.setPrefWidth(180);
-                discount.setStyle("-fx-border-color: black; -fx-border-width: 3;");
-                discount.getEditor().setFont(Font.font(fontSize.get() * 0.85));
-
-                discount.focusedProperty().addListener((obs, oldV, newV) -> {
-                    if (newV) Platform.runLater(discount::show);
-                });
-
-                discount.setOnKeyPressed(ev -> {
-                    switch (ev.getCode()) {
-                        case DOWN:
-                        case UP:
-                            discount.show();
-                            break;
-                        case ENTER:
-                            String entered = discount.getEditor().getText();
-                            if (!discount.getItems().contains(entered)) discount.setValue(entered);
-                            showTotals();
-                            ev.consume();
-                            break;
-                    }
-                });
-
-                discount.getEditor().setOnKeyPressed(ev -> {
-                    if (ev.getCode() == KeyCode.ENTER) {
-                        String entered = discount.getEditor().getText();
-                        if (!discount.getItems().contains(entered)) discount.setValue(entered);
-                        showTotals();
-                        ev.consume();
-                    }
-                });
-
-                discount.valueProperty().addListener((o, ov, nv) -> updateTotalsIfVisible());
-                discount.getEditor().textProperty().addListener((o, ov, nv) -> updateTotalsIfVisible());
-
-                HBox row = new HBox(12);
-                row.setAlignment(Pos.CENTER_LEFT);
-                row.getChildren().addAll(swR, mulEmpty, priceEmpty, discount);
-                swArea.getChildren().add(row);
-
-                swFields.add(swR);
-                priceFields.add(null);
-                qualityFields.add(discount.getEditor());
-                dustDiscountBox = discount;
-                continue;
-            } else {
-                HBox row = new HBox(12);
-                row.setAlignment(Pos.CENTER_LEFT);
-                row.getChildren().addAll(swR, mul, priceRes, qual);
-                swArea.getChildren().add(row);
-
-                swFields.add(swR);
-                priceFields.add(priceRes);
-                qualityFields.add(qual);
-            }
-        }
+        dust.bindDust(Fixed.formatWeight(finalSWs[priced]), dustDiscountBox);
+        swArea.getChildren().add(dust.box);
 
         price1Field.setDisable(false);
         price2Field.setDisable(false);
-        price1Field.requestFocus();
-
-        totalsArea.setVisible(false);
-        totalsArea.setManaged(false);
+        return true;
     }
 
-    // ---------------- Compute row price ----------------
-    private void computeRowPrice(int index) {
-        if (index < 0 || index >= priceFields.size()) return;
-
-        TextField sw = swFields.get(index);
-        TextField priceOut = priceFields.get(index);
-        TextField q = qualityFields.get(index);
+    // ---------------- Dust discount (one instance, reused) ----------------
+    private void buildDustDiscountBox() {
+        ComboBox<String> discount = new ComboBox<>();
+        discount.setEditable(true);
+        discount.getItems().addAll("1.5", "N", "1");
+        discount.setValue("1.5");
+        discount.setPrefWidth(180);
+        discount.getStyleClass().add("dust-discount");
+
+        discount.focusedProperty().addListener((obs, oldV, newV) -> {
+            if (newV) Platform.runLater(discount::show);
+        });
 
-        double swKg = safeParse(sw.getText());
-        if (swKg <= 0) return;
-        if (priceOut == null) return;
+        discount.setOnKeyPressed(ev -> {
+            switch (ev.getCode()) {
+                case DOWN:
+                case UP:
+                    discount.show();
+                    break;
+                case ENTER:
+                    String entered = discount.getEditor().getText();
+                    if (!discount.getItems().contains(entered)) discount.setValue(entered);
+                    showTotals();
+                    journalStep();
+                    ev.consume();
+                    break;
+            }
+        });
 
-        double p1 = safeParse(price1Field.getText());
-        double p2 = safeParse(price2Field.getText());
-        double qv = safeParse(q.getText());
+        discount.getEditor().setOnKeyPressed(ev -> {
+            if (ev.getCode() == KeyCode.ENTER) {
+                String entered = discount.getEditor().getText();
+                if (!discount.getItems().contains(entered)) discount.setValue(entered);
+                showTotals();
+                journalStep();
+                ev.consume();
+            }
+        });
 
-        double rowDisplayRate = p1 + p2 + qv;
-        priceOut.setText(moneyFmt.format(rowDisplayRate));
+        discount.valueProperty().addListener((o, ov, nv) -> {
+            if (switching) return;
+            form.setDiscount(nv);
+            requestRefresh();
+        });
 
-        double actualPrice = rowDisplayRate * (swKg / 1000.0);
-        priceOut.setUserData(actualPrice);
+        dustDiscountBox = discount;
+    }
 
-        updateTotalsIfVisible();
+    // ---------------- Row rates / totals refresh ----------------
+    // Edits land in the model straight away; the nodes are updated at most once per pulse.
+    private void requestRefresh() {
+        if (refreshQueued) return;
+        refreshQueued = true;
+        Platform.requestNextPulse();
     }
 
-    // recompute all rows when base prices change
-    private void recomputeAllRows() {
-        for (int i = 0; i < priceFields.size(); i++) {
-            TextField pf = priceFields.get(i);
-            TextField q = null;
-            if (i < qualityFields.size()) q = qualityFields.get(i);
-            if (pf != null && q != null && q.isVisible()) {
-                computeRowPrice(i);
+    private void flushRefresh() {
+        if (!refreshQueued) return;
+        refreshQueued = false;
+
+        try (Metrics.Timer t = Metrics.time(Metrics.Stage.REFRESH)) {
+            // only the cells on screen show a rate; the rest read theirs when scrolled in
+            if (form.takeRowsDirty()) {
+                for (RowCell c : rowCells) c.showRate();
             }
+            if (form.takeTotalsDirty()) updateTotalsIfVisible();
         }
     }
 
     // ---------------- Totals, GST UI ----------------
-    private void showTotals() {
-        updateTotalsIfVisible();
-
-        totalsArea.getChildren().clear();
+    private void buildTotalsArea() {
+        totalsArea = new VBox(12);
+        totalsArea.setAlignment(Pos.CENTER);
+        totalsArea.setVisible(false);
+        totalsArea.setManaged(false);
 
         Region topLine = new Region();
         topLine.setPrefHeight(6);
         topLine.setBackground(new Background(new BackgroundFill(Color.BLACK, null, null)));
         topLine.setMaxWidth(Double.MAX_VALUE);
 
-        Label totalVal = new Label(totalsFormatted());
-        totalVal.fontProperty().bind(Bindings.createObjectBinding(() -> Font.font(fontSize.get()), fontSize));
+        totalVal = new Label();
+        totalVal.getStyleClass().add("total");
         totalVal.setAlignment(Pos.CENTER);
 
         gstField = new TextField();
         gstField.setPromptText("GST Amount (flat)");
-        gstField.fontProperty().bind(Bindings.createObjectBinding(() -> Font.font(fontSize.get() * 0.9), fontSize));
-        gstField.setStyle("-fx-border-color: black; -fx-border-width: 2; -fx-background-color: white;");
+        gstField.getStyleClass().addAll("field", "gst-field");
         gstField.setAlignment(Pos.CENTER);
         gstField.setMaxWidth(260);
+        gst = FixedInput.money(gstField);
 
         // CENTER box contains the TOTAL (value) and the GST input (value only)
         VBox centerBox = new VBox(10);
@@ -683,363 +1132,393 @@ public class Main extends Application {
         bottomLine.setBackground(new Background(new BackgroundFill(Color.BLACK, null, null)));
         bottomLine.setMaxWidth(Double.MAX_VALUE);
 
-        Label finalVal = new Label(totalsFormatted());
-        finalVal.setId("finalValue");
-        finalVal.fontProperty().bind(Bindings.createObjectBinding(() -> Font.font(fontSize.get()), fontSize));
+        finalVal = new Label();
+        finalVal.getStyleClass().add("total");
         finalVal.setAlignment(Pos.CENTER);
 
         totalsArea.getChildren().addAll(topLine, centerBox, bottomLine, finalVal);
+    }
+
+    private void showTotals() {
         totalsArea.setVisible(true);
         totalsArea.setManaged(true);
+        updateTotalsIfVisible();
 
         gstField.requestFocus();
     }
 
     private void applyGst() {
-        double gst = safeParse(gstField.getText());
-        double total = totalsValue();
-        double finalV = total + gst;
+        long total = form.total();
+        long finalV = total + gst.value();
 
-        Label lbl = (Label) totalsArea.lookup("#finalValue");
-        if (lbl != null) lbl.setText(moneyFmt.format(finalV));
+        finalVal.setText(Fixed.formatMoney(finalV));
     }
 
     private void updateTotalsIfVisible() {
         if (!totalsArea.isVisible()) return;
-        Label totalVal = (Label) ((VBox) totalsArea.getChildren().get(1)).getChildren().get(0);
-        totalVal.setText(totalsFormatted());
-        Label finalVal = (Label) totalsArea.getChildren().get(3);
-        finalVal.setText(totalsFormatted());
-    }
-
-    private double totalsValue() {
-        double total = 0;
-        for (int i = 0; i < priceFields.size(); i++) {
-            TextField pf = priceFields.get(i);
-            if (pf == null || !pf.isVisible()) continue;
-            Object ud = pf.getUserData();
-            if (ud instanceof Double) total += (Double) ud;
-        }
+        String total = Fixed.formatMoney(form.total());
+        totalVal.setText(total);
+        finalVal.setText(total);
+    }
 
-        if (dustDiscountBox != null) {
-            String v = dustDiscountBox.getValue();
-            double pct = 0;
-            if ("1.5".equals(v)) pct = 1.5;
-            else if ("1".equals(v)) pct = 1;
-            double discount = total * (pct / 100.0);
-            total -= discount;
-        }
-        return total;
+    // ---------------- Form snapshot ----------------
+    private SlipInput currentInput() {
+        List<String> qualities = new ArrayList<>(rowQualities.size() + 1);
+        qualities.addAll(rowQualities);
+        if (form.subweightsFinished()) qualities.add(form.dustOnly() ? "" : dustDiscountBox.getEditor().getText());
+
+        return new SlipInput(
+                truckNumberField.getText(),
+                mainWeightField.getText(),
+                form.rawSubweights(),
+                price1Field.getText(),
+                price2Field.getText(),
+                qualities,
+                dustDiscountBox == null ? null : dustDiscountBox.getValue(),
+                gstField.getText());
     }
 
-    private String totalsFormatted() {
-        return moneyFmt.format(totalsValue());
+    private Slip currentSlip() {
+        return SlipCalculator.calculate(currentInput());
     }
 
     // ---------------- Print implementation ----------------
-    // User choices: left half A4, 15mm margins, wide spacing, auto-shrink font, only values, GST value printed without label
-    // Helper: draw left + right on same baseline, then advance Y
-    // =====================================================================
-    //  DRAW LEFT + RIGHT ON SAME BASELINE (for SW rows)
-    // =====================================================================
-    private void drawRow(PDPageContentStream cs, PDType1Font font,
-                        String left, String right,
-                        float xLeft, float xRight,
-                        final float[] y, float fontSize) throws IOException {
-
-        // LEFT
-        cs.setFont(font, fontSize);
-        cs.beginText();
-        cs.newLineAtOffset(xLeft, y[0] - fontSize);
-        cs.showText(left);
-        cs.endText();
-
-        // RIGHT (if present)
-        if (right != null && !right.isEmpty()) {
-            float w = font.getStringWidth(right) / 1000f * fontSize;
-            float startX = xRight - w;
-
-            cs.setFont(font, fontSize);
-            cs.beginText();
-            cs.newLineAtOffset(startX, y[0] - fontSize);
-            cs.showText(right);
-            cs.endText();
+    private void printSlip(Slip slip, String id, PrintService printer, boolean silent)
+            throws IOException, PrinterException, PrintException {
+        // receipt printers: raw ESC/POS or text bytes, no PDF and no AWT
+        if (printService.settings().raw()) {
+            RawSlipPrinter raw = RawSlipPrinter.forSettings(printService.settings(), printer);
+            if (raw != null) {
+                byte[] bytes;
+                try (Metrics.Timer t = Metrics.time(Metrics.Stage.RENDER)) {
+                    bytes = textRenderer.render(slip);
+                }
+                try (Metrics.Timer t = Metrics.time(Metrics.Stage.SPOOL)) {
+                    raw.send(bytes);
+                }
+                keepSlip(id, slip, bytes, false);
+                return;
+            }
         }
 
-        // Move down ONCE after both are printed
-        y[0] -= (fontSize + 1);   // tighter spacing
-    }
-
-    // =====================================================================
-    //  CENTERED TEXT (for TOTAL / GST / FINAL)
-    // =====================================================================
-    private void drawCenter(PDPageContentStream cs, PDType1Font font,
-                            String text, float xCenter,
-                            final float[] y, float fs) throws IOException {
-
-        float w = font.getStringWidth(text) / 1000f * fs;
-        float startX = xCenter - (w / 2f);
+        Metrics.Timer render = Metrics.time(Metrics.Stage.RENDER);
+        try (PDDocument doc = pdfRenderer().render(slip)) {
+            render.close();
+            // PRINT to the resolved printer (silent mode skips the dialog)
+            if (printer != null) {
+                PrinterJob job = PrinterJob.getPrinterJob();
+                job.setPrintService(printer);
 
-        cs.setFont(font, fs);
-        cs.beginText();
-        cs.newLineAtOffset(startX, y[0] - fs);
-        cs.showText(text);
-        cs.endText();
+                if (silent || job.printDialog()) {
+                    job.setPrintable(new PDFPrintable(doc));
+                    try (Metrics.Timer t = Metrics.time(Metrics.Stage.SPOOL)) {
+                        job.print();
+                    }
+                }
+            }
 
-        y[0] -= (fs + 2);   // tight spacing
+            // saved after the printer has it, so the slip isn't held up by its copies
+            ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+            doc.save(pdf);
+            keepSlip(id, slip, pdf.toByteArray(), true);
+        }
     }
 
-    // =====================================================================
-    //  FINAL MERGED printSlip() — EXACT to your notebook layout
-    // =====================================================================
-    private void printSlip() {
-        try (PDDocument doc = new PDDocument()) {
-
-            PDPage page = new PDPage(PDRectangle.A4);
-            doc.addPage(page);
-
-            PDRectangle rect = page.getMediaBox();
-            float pageW = rect.getWidth();   // A4 = 595px
-            float pageH = rect.getHeight();  // A4 = 842px
-
-            // 2cm = 56.69 pixels (1cm = 28.35px)
-            float topMargin = 56.69f;  // 2cm from top
-            
-            // Center the slip horizontally on A4
-            float slipWidth = 260f;
-            float leftMargin = (pageW - slipWidth) / 2f;  // Center horizontally
-
-            float xLeft   = leftMargin;
-            float xRight  = leftMargin + slipWidth;
-            float xCenter = leftMargin + (slipWidth / 2f);
-
-            // START WITH 2CM TOP MARGIN
-            final float[] y = { pageH - topMargin };
-
-            PDType1Font font = PDType1Font.HELVETICA;
+    // Building the renderer loads PDFBox and the Helvetica metrics, so it waits for the print thread
+    private SlipPdfRenderer pdfRenderer() {
+        if (slipRenderer == null) slipRenderer = new SlipPdfRenderer();
+        return slipRenderer;
+    }
 
-            try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
 
-                // ----------------------------------------------------
-                // HEADER PRICE 1 + TRUCK
-                // ----------------------------------------------------
-                String p1 = price1Field.getText().trim();
-                String truck = truckNumberField.getText().trim();
 
-                if (!p1.isEmpty()) {
 
-                    float baseline = y[0] - 10f;
+    // ---------------- Open trucks (tabs) ----------------
+    // F2 parks the current truck and starts another, F3 / Shift+F3 or Ctrl+1..9 switch between
+    // them, and PRINT closes the truck once its slip is queued. One set of nodes shows whichever
+    // truck is current; the rest live in their TruckTransaction.
+    private void buildTruckTabs() {
+        truckTabs = new HBox(8);
+        truckTabs.setAlignment(Pos.TOP_CENTER);
+        truckTabs.setPickOnBounds(false);
+        overlay.getChildren().add(truckTabs);
+        StackPane.setAlignment(truckTabs, Pos.TOP_CENTER);
+        StackPane.setMargin(truckTabs, new Insets(8, 0, 0, 0));
+        renderTruckTabs();
+    }
 
-                    // Price1 LEFT
-                    cs.setFont(font, 14f);
-                    cs.beginText();
-                    cs.newLineAtOffset(xLeft, baseline);
-                    cs.showText(p1);
-                    cs.endText();
+    private void renderTruckTabs() {
+        if (truckTabs == null) return;
+        truckTabs.getChildren().clear();
+        if (trucks.size() < 2) return;   // a single truck needs no tabs
+        for (int i = 0; i < trucks.size(); i++) {
+            TruckTransaction t = trucks.get(i);
+            Label tab = new Label((i + 1) + "  " + t.label(t == current ? truckNumberField.getText() : t.truck));
+            tab.getStyleClass().add("truck-tab");
+            tab.pseudoClassStateChanged(CURRENT_TAB, t == current);
+            tab.setOnMouseClicked(ev -> switchTo(t));
+            truckTabs.getChildren().add(tab);
+        }
+    }
 
-                    // Truck RIGHT
-                    if (!truck.isEmpty()) {
-                        float tw = font.getStringWidth(truck) / 1000f * 12f;
-                        float tx = xRight - tw;
+    private void openTruck() {
+        if (swArea == null || trucks.size() >= MAX_TRUCKS) return;
+        TruckTransaction t = new TruckTransaction(++truckCounter);
+        trucks.add(trucks.indexOf(current) + 1, t);
+        switchTo(t);
+        applyDefaultRate();
+    }
 
-                        cs.setFont(font, 12f);
-                        cs.beginText();
-                        cs.newLineAtOffset(tx, baseline);
-                        cs.showText(truck);
-                        cs.endText();
-                    }
+    private void cycleTruck(int step) {
+        if (trucks.size() < 2) return;
+        int i = Math.floorMod(trucks.indexOf(current) + step, trucks.size());
+        switchTo(trucks.get(i));
+    }
 
-                    y[0] -= 20f;
-                }
+    // Slip queued: drop the truck and carry on with the next open one (or a fresh form). The
+    // print thread closes it in the journal later, so a fresh form takes a new number rather
+    // than reusing this one, whose late CLOSE would otherwise drop the new truck.
+    private void closeTruck() {
+        TruckTransaction closed = current;
+        if (trucks.size() < 2) {
+            TruckTransaction t = new TruckTransaction(++truckCounter);
+            trucks.add(t);
+            switchTo(t);
+            applyDefaultRate();
+        } else {
+            int i = trucks.indexOf(current);
+            switchTo(trucks.get(i + 1 < trucks.size() ? i + 1 : i - 1));
+        }
+        trucks.remove(closed);
+        renderTruckTabs();
+    }
 
-                // Price2
-                String p2 = price2Field.getText().trim();
-                if (!p2.isEmpty()) {
-                    cs.setFont(font, 14f);
-                    cs.beginText();
-                    cs.newLineAtOffset(xLeft, y[0] - 12f);
-                    cs.showText(p2);
-                    cs.endText();
-                    y[0] -= 22f;
-                }
+    private void switchTo(TruckTransaction t) {
+        if (t == current || swArea == null) return;
+        saveView(current);
+        showTruck(t);
+    }
 
-                // ADD LINE AFTER PRICE2
-                cs.setLineWidth(1f);
-                cs.moveTo(xLeft, y[0]);
-                cs.lineTo(xLeft + 60f, y[0]);
-                cs.stroke();
-                y[0] -= 15f;  // Extra gap after line
-
-                // SUBWEIGHT ROWS
-                String main = mainWeightField.getText().trim();
-                int n = swFields.size();
-
-                // Calculate offset for alignment
-                float swAlignOffset = 0f;
-                if (n > 0) {
-                    String firstRowPrefix = main + " – ";
-                    swAlignOffset = font.getStringWidth(firstRowPrefix) / 1000f * 14f;
-                }
+    // Rebinds the cleared view to `t`, whose form already holds its values
+    private void showTruck(TruckTransaction t) {
+        switching = true;
+        try {
+            clearView();
+            current = t;
+            form = t.form;
+            loadView(t);
+        } finally {
+            switching = false;
+        }
+        form.markRowsDirty();
+        requestRefresh();
+        renderTruckTabs();
+    }
 
-                for (int i = 0; i < n; i++) {
-                    String sw = String.valueOf((int)Math.floor(safeParse(swFields.get(i).getText())));
-                    String rate = (i < priceFields.size() && priceFields.get(i) != null)
-                            ? String.valueOf((int)Math.floor(safeParse(priceFields.get(i).getText()))) : "";
-                    String qv = (i < qualityFields.size() && qualityFields.get(i) != null)
-                            ? qualityFields.get(i).getText().trim() : "";
-
-                    String leftText;
-                    float rowXLeft = xLeft;
-
-                    if (i == 0) {
-                        leftText = main + " – " + sw + " × " + rate;
-                    } else if (i == n - 1) {
-                        leftText = sw;
-                        rowXLeft = xLeft + swAlignOffset;  // Align with first SW
-                    } else {
-                        leftText = sw + " × " + rate;
-                        rowXLeft = xLeft + swAlignOffset;  // Align with first SW
-                    }
+    private void saveView(TruckTransaction t) {
+        t.truck = truckNumberField.getText();
+        t.mainWeight = mainWeightField.getText();
+        t.price1 = price1Field.getText();
+        t.price2 = price2Field.getText();
+        t.gst = gstField.getText();
+        t.discount = dustDiscountBox.getValue();
+        t.profile = truckProfile;
+        t.totalsShown = totalsArea.isVisible();
+        t.buttonsShown = bottomButtons.isVisible();
+        t.finished = form.subweightsFinished();
+
+        t.live.clear();
+        t.qualities.clear();
+        t.raw.clear();
+        t.raw.addAll(form.rawSubweights());
+        if (!form.subweightsFinished()) {
+            for (TextField sw : swLive) t.live.add(sw.getText());
+        } else {
+            t.qualities.addAll(rowQualities);
+        }
 
-                    drawRow(cs, font, leftText, qv, rowXLeft, xRight, y, 14f);
-                }
+        Object focused = overlay.getScene().getFocusOwner();
+        t.focusIndex = 0;
+        if (focused == mainWeightField) t.focus = TruckTransaction.Focus.MAIN;
+        else if (focused == price1Field) t.focus = TruckTransaction.Focus.PRICE1;
+        else if (focused == price2Field) t.focus = TruckTransaction.Focus.PRICE2;
+        else if (focused == gstField) t.focus = TruckTransaction.Focus.GST;
+        else if (focused == printButton) t.focus = TruckTransaction.Focus.PRINT;
+        else if (swLive.contains(focused) && !form.subweightsFinished()) {
+            t.focus = TruckTransaction.Focus.LIVE;
+            t.focusIndex = swLive.indexOf(focused);
+        } else if (qualityIndex(focused) >= 0) {
+            t.focus = TruckTransaction.Focus.QUALITY;
+            t.focusIndex = qualityIndex(focused);
+        } else t.focus = TruckTransaction.Focus.TRUCK;
+    }
 
-                // ----------------------------------------------------
-                // FIRST LINE
-                // ----------------------------------------------------
-                cs.setLineWidth(2f);
-                cs.moveTo(xLeft, y[0]);
-                cs.lineTo(xLeft + 300f, y[0]);
-                cs.stroke();
-                y[0] -= 14f;
-
-                // ----------------------------------------------------
-                // TOTAL CENTER
-                // ----------------------------------------------------
-                String totalFloor = String.valueOf((int)Math.floor(totalsValue()));
-                drawCenter(cs, font, totalFloor, xCenter, y, 18f);
-
-                // ----------------------------------------------------
-                // GST CENTER
-                // ----------------------------------------------------
-                String gst = gstField.getText().trim();
-                if (gst.isEmpty()) gst = "0";
-                String gstFloor = String.valueOf((int)Math.floor(safeParse(gst)));
-                drawCenter(cs, font, gstFloor, xCenter, y, 16f);
-
-                y[0] -= 6f;
-
-                // ----------------------------------------------------
-                // SECOND LINE
-                // ----------------------------------------------------
-                cs.setLineWidth(2f);
-                cs.moveTo(xLeft, y[0]);
-                cs.lineTo(xLeft + 300f, y[0]);
-                cs.stroke();
-                y[0] -= 14f;
-
-                // ----------------------------------------------------
-                // FINAL CENTER VALUE
-                // ----------------------------------------------------
-                double finalV = totalsValue() + safeParse(gst);
-                String finalFloor = String.valueOf((int)Math.floor(finalV));
-                drawCenter(cs, font, finalFloor, xCenter, y, 18f);
+    // The view was just cleared and `form` already holds this truck's values; only text is restored
+    private void loadView(TruckTransaction t) {
+        truckProfile = t.profile;
+        truckNumberField.setText(t.truck);
+        mainWeightField.setText(t.mainWeight);
+        price1Field.setText(t.price1);
+        price2Field.setText(t.price2);
+        dustDiscountBox.setValue(t.discount);
+
+        if (form.subweightsFinished()) {
+            bindFinishedRows();
+            for (int i = 0; i < t.qualities.size() && i < rowQualities.size(); i++) {
+                rowQualities.set(i, t.qualities.get(i));
             }
-
-            // AUTO PRINT with printer selection
-            PrintService[] printers = PrintServiceLookup.lookupPrintServices(null, null);
-
-            if (printers.length > 0) {
-                PrinterJob job = PrinterJob.getPrinterJob();
-                
-                // Show print dialog to let user choose printer
-                if (job.printDialog()) {
-                    job.setPrintable(new PDFPrintable(doc));
-                    job.print();
-                    return;
-                }
+        } else {
+            for (int i = 0; i < t.live.size(); i++) {
+                if (i > 0) addSwLiveField();
+                swLive.get(i).setText(t.live.get(i));
             }
+        }
 
-            // SAVE DIALOG
-            FileChooser chooser = new FileChooser();
-            chooser.setTitle("Save Slip PDF");
-            chooser.setInitialFileName("Rajdhani_Slip.pdf");
-            chooser.getExtensionFilters()
-                    .add(new FileChooser.ExtensionFilter("PDF Files", "*.pdf"));
-
-            File saveFile = chooser.showSaveDialog(overlay.getScene().getWindow());
-            if (saveFile != null) doc.save(saveFile);
-
-        } catch (Exception e) {
-            e.printStackTrace();
+        if (t.totalsShown) {
+            totalsArea.setVisible(true);
+            totalsArea.setManaged(true);
+            gstField.setText(t.gst);
+            updateTotalsIfVisible();
+        }
+        if (t.buttonsShown) {
+            applyGst();
+            bottomButtons.setVisible(true);
+            bottomButtons.setManaged(true);
         }
+
+        TextField target = switch (t.focus) {
+            case MAIN -> mainWeightField;
+            case PRICE1 -> price1Field;
+            case PRICE2 -> price2Field;
+            case GST -> gstField;
+            case LIVE -> t.focusIndex < swLive.size() ? swLive.get(t.focusIndex) : mainWeightField;
+            case QUALITY -> t.focusIndex < form.rowCount() ? null : price1Field;   // its cell exists after layout
+            default -> truckNumberField;
+        };
+        Platform.runLater(() -> {
+            if (t != current) return;
+            if (t.focus == TruckTransaction.Focus.PRINT) {
+                printButton.requestFocus();
+                return;
+            }
+            TextField f = target != null ? target : focusQuality(t.focusIndex);
+            if (f == null) f = price1Field;
+            f.requestFocus();
+            f.positionCaret(f.getText().length());
+        });
     }
 
+    // ---------------- Crash journal ----------------
+    // Each ENTER logs the current truck; the UI thread only serialises, the journal thread syncs
+    private void journalStep() {
+        if (journal == null || swArea == null) return;
+        saveView(current);
+        boolean blank = current.truck.isBlank() && current.mainWeight.isBlank()
+                && current.live.stream().allMatch(String::isBlank);
+        if (!blank) journal.state(current);
+    }
 
+    // Trucks left open by a crash (or exit) come back as tabs, the last one touched on screen
+    private void restoreJournal() {
+        if (journal == null || journal.recovered().isEmpty()) return;
+        List<TruckTransaction> back = journal.recovered();
+        TruckTransaction show = back.get(back.size() - 1);
+
+        trucks.clear();
+        trucks.addAll(back);
+        trucks.sort((a, b) -> Integer.compare(a.number, b.number));
+        for (TruckTransaction t : trucks) truckCounter = Math.max(truckCounter, t.number);
+        showTruck(show);
+    }
 
-    private double safeParse(String s) {
-        if (s == null) return 0;
-        s = s.trim();
-        if (s.isEmpty()) return 0;
-        try { return Double.parseDouble(s.replace(",", "")); } catch (Exception e) { return 0; }
+    // ---------------- Metrics ----------------
+    // F12: written off the FX thread so a slow disk never holds up the counter
+    private void dumpMetrics() {
+        Thread t = new Thread(() -> {
+            try {
+                Path file = Metrics.dump();
+                Platform.runLater(() -> status("Metrics written to " + file));
+            } catch (IOException e) {
+                e.printStackTrace();
+                Platform.runLater(() -> status("Metrics dump failed: " + e.getMessage()));
+            }
+        }, "metrics-dump");
+        t.setDaemon(true);
+        t.start();
     }
 
     // ---------------- Reset ----------------
-    private void resetAll(Stage stage) {
-        subweightsFinished = false;
+    // Clears values only; every node stays in the scene and is reused for the next truck.
+    private void resetAll() {
+        if (swArea == null) return;   // F1 before the deferred part of the form exists
+        try (Metrics.Timer t = Metrics.time(Metrics.Stage.RESET)) {
+            if (journal != null) journal.closed(current.number);
+            form.reset();
+            truckProfile = null;
+            clearView();
+            applyDefaultRate();
+        }
+        renderTruckTabs();
+    }
+
+    // Empties every node for the next truck; the model is left to the caller
+    private void clearView() {
         swLive.clear();
-        swFields.clear();
-        priceFields.clear();
-        qualityFields.clear();
-        dustDiscountBox = null;
+        rowQualities.clear();
+        rowIndexes.reset(0);
+        for (SwRow row : rowPool) row.clear();
+        dustDiscountBox.hide();
+        dustDiscountBox.setValue("1.5");
 
-        if (truckNumberField != null) truckNumberField.clear();
+        truckNumberField.clear();
+        hideTruckSuggestions();
 
         if (bottomButtons != null) {
             bottomButtons.setVisible(false);
             bottomButtons.setManaged(false);
         }
 
-        root.setLeft(null);
-        buildLeftContainer();
-        Platform.runLater(() -> truckNumberField.requestFocus());
-
-        rightContainer.getChildren().clear();
-        Region spacer = new Region();
-        spacer.prefHeightProperty().bind(stage.getScene().heightProperty().multiply(0.22));
-        rightContainer.getChildren().add(spacer);
-
-        swArea = new VBox(12);
-        swArea.setAlignment(Pos.TOP_LEFT);
-        addSwLiveField();
+        price1Field.clear();
+        price2Field.clear();
+        price1Field.setDisable(true);
+        price2Field.setDisable(true);
+        mainWeightField.clear();
 
-        totalsArea = new VBox(12);
-        totalsArea.setAlignment(Pos.CENTER);
+        gstField.clear();
         totalsArea.setVisible(false);
         totalsArea.setManaged(false);
+        totalVal.setText("");
+        finalVal.setText("");
 
-        rightContainer.getChildren().addAll(swArea, totalsArea);
-
-        rightScrollPane = new ScrollPane(rightContainer);
-        rightScrollPane.setFitToWidth(true);
-        rightScrollPane.setFitToHeight(true);
-        rightScrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-        rightScrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-        rightScrollPane.setStyle("-fx-background: white; -fx-background-color: white;");
-        rightContainer.setStyle("-fx-background-color: white;");
-        root.setCenter(rightScrollPane);
-
-        mainWeightField.clear();
+        swArea.getChildren().clear();
+        addSwLiveField();
+        rightScrollPane.setVvalue(0);
 
         Platform.runLater(() -> {
-            if (truckNumberField != null) {
-                truckNumberField.requestFocus();
-                truckNumberField.positionCaret(truckNumberField.getText().length());
-            }
+            truckNumberField.requestFocus();
+            truckNumberField.positionCaret(truckNumberField.getText().length());
         });
     }
 
     public static void main(String[] args) {
+        // headless tools (batch re-issue/back-fill, day report, stats, LAN hub, reprint); never start the FX toolkit
+        if (args.length > 0 && args[0].equals("--batch")) {
+            System.exit(SlipBatch.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && args[0].equals("--report")) {
+            System.exit(DayReport.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && args[0].equals("--stats")) {
+            System.exit(SlipHistory.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && args[0].equals("--hub")) {
+            System.exit(SlipHub.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && args[0].equals("--reprint")) {
+            System.exit(ReprintCache.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+
+        StartupTimings.mark(StartupTimings.Mark.MAIN);
         launch();
     }
 }
@@ -0,0 +1,154 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Where a truck's time goes: a latency histogram per stage, fed by {@link Timer}s on the
+ * FX and print threads. Each timing is also a {@link SlipStageEvent} for JFR.
+ * <p>
+ * The numbers can be read three ways:
+ * <ul>
+ *   <li>over JMX ({@value #OBJECT_NAME} in JConsole/VisualVM);</li>
+ *   <li>as a text dump in {@code metrics/} under the data dir, written on demand by F12 or
+ *       the MBean's {@code dump()};</li>
+ *   <li>in a JFR recording.</li>
+ * </ul>
+ */
+final class Metrics {
+
+    static final String OBJECT_NAME = "com.ranjdhaniCastingDemoproject:type=SlipMetrics";
+
+    enum Stage {
+        ENTER,                // handleEnter: one ENTER key
+        FINISH_SUBWEIGHTS,    // sentinel -> rows rebound, through the next layout pass
+        REFRESH,              // rates/totals redrawn for a pulse
+        RENDER,               // PDF (or ESC/POS bytes) built on the print thread
+        SPOOL,                // handed to the printer / raw file / saved bytes
+        RESET,                // resetAll
+        RESIZE,               // window height changed -> CSS and layout of the next pulse done
+        FX_PULSE,             // watchdog probe posted -> next pulse starts (see FxWatchdog)
+        FX_LAYOUT             // one pulse's layout pass
+    }
+
+    private static final Map<Stage, LatencyHistogram> histograms = new EnumMap<>(Stage.class);
+
+    static {
+        for (Stage s : Stage.values()) histograms.put(s, new LatencyHistogram());
+    }
+
+    private Metrics() {
+    }
+
+    /** Starts timing {@code stage}; close the timer (try-with-resources) to record it. */
+    static Timer time(Stage stage) {
+        return new Timer(stage);
+    }
+
+    static LatencyHistogram histogram(Stage stage) {
+        return histograms.get(stage);
+    }
+
+    static final class Timer implements AutoCloseable {
+        private final Stage stage;
+        private final long start = System.nanoTime();
+        private final SlipStageEvent event = new SlipStageEvent();
+        private boolean closed;
+
+        private Timer(Stage stage) {
+            this.stage = stage;
+            event.begin();
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            histograms.get(stage).recordNanos(System.nanoTime() - start);
+            if (event.shouldCommit()) {
+                event.stage = stage.name();
+                event.commit();
+            }
+        }
+    }
+
+    // ---------------- Dump ----------------
+
+    /** Writes every stage's summary and non-empty buckets to a new file; returns it. */
+    static Path dump() throws IOException {
+        Path file = DataDirs.dir("metrics").resolve(
+                "metrics-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt");
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append("# slip stage latencies in microseconds, ").append(LocalDateTime.now().withNano(0)).append('\n');
+        sb.append(String.format(Locale.ROOT, "%-18s %8s %10s %10s %10s %10s %10s %10s%n",
+                "stage", "count", "mean", "p50", "p90", "p99", "p99.9", "max"));
+        for (Stage s : Stage.values()) {
+            LatencyHistogram h = histograms.get(s);
+            sb.append(String.format(Locale.ROOT, "%-18s %8d %10d %10d %10d %10d %10d %10d%n", s, h.count(), h.meanMicros(),
+                    h.percentile(50), h.percentile(90), h.percentile(99), h.percentile(99.9), h.maxMicros()));
+        }
+        for (Stage s : Stage.values()) {
+            long[][] buckets = histograms.get(s).buckets();
+            if (buckets.length == 0) continue;
+            sb.append('\n').append("## ").append(s).append("  (from_us to_us count)\n");
+            for (long[] b : buckets) sb.append(b[0]).append(' ').append(b[1]).append(' ').append(b[2]).append('\n');
+        }
+        Files.writeString(file, sb);
+        return file;
+    }
+
+    // ---------------- JMX ----------------
+
+    /** Registers the MBean; off the FX thread, since the platform MBean server is slow to start. */
+    static void registerJmxAsync() {
+        Thread t = new Thread(() -> {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                e.printStackTrace();
+            }
+        }, "metrics-jmx");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private static final class Bean implements SlipMetricsMXBean {
+        @Override public Map<String, Long> getCounts() { return per(LatencyHistogram::count); }
+        @Override public Map<String, Long> getMeanMicros() { return per(LatencyHistogram::meanMicros); }
+        @Override public Map<String, Long> getP50Micros() { return per(h -> h.percentile(50)); }
+        @Override public Map<String, Long> getP99Micros() { return per(h -> h.percentile(99)); }
+        @Override public Map<String, Long> getMaxMicros() { return per(LatencyHistogram::maxMicros); }
+
+        @Override
+        public String dump() {
+            try {
+                return Metrics.dump().toString();
+            } catch (IOException e) {
+                e.printStackTrace();
+                return "failed: " + e.getMessage();
+            }
+        }
+
+        @Override
+        public void reset() {
+            for (LatencyHistogram h : histograms.values()) h.reset();
+        }
+
+        private static Map<String, Long> per(ToLongFunction<LatencyHistogram> f) {
+            Map<String, Long> m = new LinkedHashMap<>();
+            for (Stage s : Stage.values()) m.put(s.name(), f.applyAsLong(histograms.get(s)));
+            return m;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Per-terminal print options, read from {@code print.properties} in the data dir:
+ * <pre>
+ *   printer = EPSON TM-T82      # name (or part of it); blank = system default
+ *   silent  = true              # print straight to the printer, no dialog
+ *   format  = escpos            # pdf (A4, default) | escpos (thermal) | text (plain fixed-width)
+ *   columns = 42                # characters per line for escpos/text (42 = 80mm, 32 = 58mm)
+ *   rawFile = C:/slips/out.bin  # escpos/text only: append bytes here instead of printing
+ *   reprintCacheMb = 64         # printed slips kept for reprints (see ReprintCache)
+ * </pre>
+ * Missing file or keys fall back to the old behaviour: system default, dialog each time, PDF.
+ */
+record PrintSettings(String printerName, boolean silent, Format format, int columns, String rawFile,
+                     int reprintCacheMb) {
+
+    static final String FILE_NAME = "print.properties";
+
+    enum Format { PDF, ESCPOS, TEXT }
+
+    static PrintSettings load() {
+        return load(DataDirs.root().resolve(FILE_NAME));
+    }
+
+    static PrintSettings load(Path file) {
+        Properties p = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (Reader r = Files.newBufferedReader(file)) {
+                p.load(r);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        Format format;
+        try {
+            format = Format.valueOf(p.getProperty("format", "pdf").trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            format = Format.PDF;
+        }
+
+        int columns;
+        try {
+            columns = Integer.parseInt(p.getProperty("columns", "42").trim());
+        } catch (NumberFormatException e) {
+            columns = 42;
+        }
+
+        int reprintCacheMb;
+        try {
+            reprintCacheMb = Integer.parseInt(p.getProperty("reprintCacheMb", "64").trim());
+        } catch (NumberFormatException e) {
+            reprintCacheMb = 64;
+        }
+
+        return new PrintSettings(
+                p.getProperty("printer", "").trim(),
+                Boolean.parseBoolean(p.getProperty("silent", "false").trim()),
+                format,
+                Math.max(24, columns),
+                p.getProperty("rawFile", "").trim(),
+                Math.max(1, reprintCacheMb));
+    }
+
+    boolean raw() {
+        return format != Format.PDF;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.printing.PDFPrintable;
+
+import javax.print.PrintService;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.print.PageFormat;
+import java.awt.print.PrinterException;
+import java.awt.print.PrinterJob;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Runs a throwaway slip through the same path a real one takes so that the first PRINT
+ * doesn't pay for class loading, Helvetica metrics, {@code PrinterJob}/AWT start-up and
+ * the JIT. Meant to be the print thread's first job: a slip queued meanwhile just waits
+ * behind it instead of initialising the same things concurrently. Nothing reaches the
+ * printer.
+ */
+final class PrintWarmup {
+
+    private static final SlipInput SAMPLE = new SlipInput("WARMUP", "10,000",
+            List.of("4,000", "", "500"), "42,000", "1,500", List.of("100", "", ""), "1.5", "0");
+
+    private PrintWarmup() {
+    }
+
+    static void run(SlipPdfRenderer pdf, SlipTextRenderer text, PrintService printer, PrintSettings settings)
+            throws IOException, PrinterException {
+        Slip slip = SlipCalculator.calculate(SAMPLE);
+        text.render(slip);
+
+        // receipt printers never touch PDFBox or AWT
+        if (settings.raw() && RawSlipPrinter.forSettings(settings, printer) != null) return;
+
+        try (PDDocument doc = pdf.render(slip)) {
+            doc.save(OutputStream.nullOutputStream());
+            if (printer == null) return;   // no printer: slips only go to the archive, nothing more to load
+
+            PrinterJob job = PrinterJob.getPrinterJob();
+            job.setPrintService(printer);
+            PageFormat page = job.defaultPage();
+
+            // rasterise once into memory so Java2D, the font scaler and the PDF renderer are loaded
+            BufferedImage img = new BufferedImage((int) page.getWidth(), (int) page.getHeight(),
+                    BufferedImage.TYPE_BYTE_GRAY);
+            Graphics2D g = img.createGraphics();
+            try {
+                new PDFPrintable(doc).print(g, page, 0);
+            } finally {
+                g.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The office's daily rates, read from {@code ratecard.properties} in the data dir:
+ * <pre>
+ *   default = scrap                 # rate a new truck starts with
+ *   rate.scrap = 42000 500          # Price 1 and Price 2 per ton, for a material or customer
+ *   rate.acme  = 43000 0
+ *   truck.RJ14GB1234 = acme         # trucks billed at a customer's rate
+ *   grade.A = 1500                  # premium typed as "A" in a quality field
+ * </pre>
+ * Parsed once into hash maps that never change; a new card replaces the old one whole (see
+ * {@link RateCardWatcher}), so a lookup is one hash probe with no locking. Names, grades
+ * and truck numbers match ignoring case, and truck numbers also ignore spaces and dashes.
+ */
+final class RateCard {
+
+    static final String FILE_NAME = "ratecard.properties";
+    static final RateCard EMPTY = new RateCard(Map.of(), Map.of(), Map.of(), null);
+
+    /** Base rates in paise per ton. */
+    record Rate(String name, long price1, long price2) {
+    }
+
+    private final Map<String, Rate> rates;
+    private final Map<String, Rate> trucks;
+    private final Map<String, Long> grades;
+    private final Rate defaultRate;
+
+    private RateCard(Map<String, Rate> rates, Map<String, Rate> trucks, Map<String, Long> grades, Rate defaultRate) {
+        this.rates = rates;
+        this.trucks = trucks;
+        this.grades = grades;
+        this.defaultRate = defaultRate;
+    }
+
+    /** Parses {@code file}; a missing file is an empty card. Bad lines are reported and skipped. */
+    static RateCard load(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) return EMPTY;
+
+        Map<String, Rate> rates = new HashMap<>();
+        Map<String, String> truckNames = new HashMap<>();
+        Map<String, Long> grades = new HashMap<>();
+        String defaultName = null;
+
+        try (BufferedReader r = Files.newBufferedReader(file)) {
+            String line;
+            int n = 0;
+            while ((line = r.readLine()) != null) {
+                n++;
+                int hash = line.indexOf('#');
+                if (hash >= 0) line = line.substring(0, hash);
+                line = line.strip();
+                if (line.isEmpty()) continue;
+
+                int eq = line.indexOf('=');
+                String key = eq < 0 ? "" : line.substring(0, eq).strip();
+                String value = eq < 0 ? "" : line.substring(eq + 1).strip();
+                String lower = key.toLowerCase(Locale.ROOT);
+
+                if (lower.equals("default")) {
+                    defaultName = value;
+                } else if (lower.startsWith("rate.")) {
+                    String[] p = value.split("[\\s/]+");
+                    long p1 = Fixed.tryParse(p[0], Fixed.MONEY);
+                    long p2 = p.length > 1 ? Fixed.tryParse(p[1], Fixed.MONEY) : 0;
+                    if (p1 == Fixed.INVALID || p2 == Fixed.INVALID) {
+                        bad(file, n, line);
+                        continue;
+                    }
+                    String name = key.substring(5);
+                    rates.put(name(name), new Rate(name, p1, p2));
+                } else if (lower.startsWith("truck.")) {
+                    truckNames.put(TruckIndex.key(key.substring(6)), name(value));
+                } else if (lower.startsWith("grade.")) {
+                    long premium = Fixed.tryParse(value, Fixed.MONEY);
+                    if (premium == Fixed.INVALID) {
+                        bad(file, n, line);
+                        continue;
+                    }
+                    grades.put(name(key.substring(6)), premium);
+                } else {
+                    bad(file, n, line);
+                }
+            }
+        }
+
+        // resolve truck -> rate now so a lookup is a single probe
+        Map<String, Rate> trucks = new HashMap<>();
+        for (Map.Entry<String, String> e : truckNames.entrySet()) {
+            Rate rate = rates.get(e.getValue());
+            if (rate != null) trucks.put(e.getKey(), rate);
+            else System.err.println(file.getFileName() + ": truck " + e.getKey() + " has unknown rate " + e.getValue());
+        }
+        Rate def = defaultName == null ? null : rates.get(name(defaultName));
+        return new RateCard(Map.copyOf(rates), Map.copyOf(trucks), Map.copyOf(grades), def);
+    }
+
+    private static void bad(Path file, int line, String text) {
+        System.err.println(file.getFileName() + ":" + line + ": ignored: " + text);
+    }
+
+    private static String name(String s) {
+        return s.strip().toUpperCase(Locale.ROOT);
+    }
+
+    // ---------------- Lookups ----------------
+
+    /** Rate for a new truck, or null if the card names none. */
+    Rate defaultRate() {
+        return defaultRate;
+    }
+
+    /** The customer rate a truck is billed at, or null if the card doesn't list it. */
+    Rate forTruck(String truck) {
+        return trucks.get(TruckIndex.key(truck));
+    }
+
+    /** Premium for a grade code, or {@link Fixed#INVALID} if it isn't one. */
+    long grade(String code) {
+        if (code == null || code.isBlank()) return Fixed.INVALID;
+        Long p = grades.get(name(code));
+        return p == null ? Fixed.INVALID : p;
+    }
+
+    int size() {
+        return rates.size() + grades.size();
+    }
+}
@@ -0,0 +1,125 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Holds the current {@link RateCard} and reloads it when the file changes. A daemon thread
+ * watches the data dir with a {@link WatchService}. After an edit to the card it waits until
+ * the card has been quiet for a moment (writes to the journal or outbox next to it don't
+ * count), parses the whole file, then publishes the new card with one volatile write, so
+ * readers see either the old card or the new one and never a mix. If the file can't be read,
+ * the old card stays.
+ */
+final class RateCardWatcher implements AutoCloseable {
+
+    private static final long SETTLE_MILLIS = 250;   // editors save in several writes, or via a temp file
+
+    private final Path file;
+    private final Consumer<RateCard> onReload;   // watch thread
+    private final WatchService watcher;
+    private final Thread thread;
+    private volatile RateCard card;
+
+    private RateCardWatcher(Path file, Consumer<RateCard> onReload, RateCard card, WatchService watcher) {
+        this.file = file;
+        this.onReload = onReload;
+        this.card = card;
+        this.watcher = watcher;
+        this.thread = new Thread(this::run, "ratecard-watch");
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Loads the card now and keeps it current; falls back to no watching if the dir can't be
+     * watched. {@code onReload} gets each card loaded after an edit, on the watch thread.
+     */
+    static RateCardWatcher start(Path file, Consumer<RateCard> onReload) {
+        RateCard first = RateCard.EMPTY;
+        try {
+            first = RateCard.load(file);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        WatchService ws = null;
+        try {
+            ws = FileSystems.getDefault().newWatchService();
+            Files.createDirectories(file.getParent()).register(ws, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        RateCardWatcher w = new RateCardWatcher(file, onReload, first, ws);
+        if (ws != null) w.thread.start();
+        return w;
+    }
+
+    /** The card in force right now; never null. */
+    RateCard card() {
+        return card;
+    }
+
+    // ---------------- Watch thread ----------------
+    private void run() {
+        Path name = file.getFileName();
+        try {
+            while (true) {
+                // the data dir also holds the entry journal, the hub outbox and logs; their
+                // writes cost a name compare and never start or stretch the settle wait
+                if (!touches(watcher.take(), name)) continue;
+
+                // swallow the burst of events one save produces, then load once
+                long quietAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SETTLE_MILLIS);
+                for (long wait; (wait = quietAt - System.nanoTime()) > 0; ) {
+                    WatchKey more = watcher.poll(wait, TimeUnit.NANOSECONDS);
+                    if (more != null && touches(more, name)) {
+                        quietAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SETTLE_MILLIS);
+                    }
+                }
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closing
+        }
+    }
+
+    private static boolean touches(WatchKey key, Path name) {
+        boolean hit = false;
+        for (WatchEvent<?> ev : key.pollEvents()) {
+            if (name.equals(ev.context())) hit = true;
+        }
+        key.reset();
+        return hit;
+    }
+
+    private void reload() {
+        try {
+            RateCard next = RateCard.load(file);
+            card = next;
+            onReload.accept(next);
+        } catch (IOException e) {
+            e.printStackTrace();   // keep the card we have
+        }
+    }
+
+    @Override
+    public void close() {
+        if (watcher == null) return;
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            // closing anyway
+        }
+        thread.interrupt();
+    }
+}
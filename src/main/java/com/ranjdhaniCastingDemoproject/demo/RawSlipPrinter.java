@@ -0,0 +1,40 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import javax.print.DocFlavor;
+import javax.print.DocPrintJob;
+import javax.print.PrintException;
+import javax.print.PrintService;
+import javax.print.SimpleDoc;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sends already-rendered printer bytes (ESC/POS or plain text) without going through
+ * PDFBox or AWT. Either straight to a print service as an auto-sensed byte stream, or
+ * appended to a file that stands in for the printer.
+ */
+interface RawSlipPrinter {
+
+    void send(byte[] data) throws IOException, PrintException;
+
+    static RawSlipPrinter to(PrintService service) {
+        return data -> {
+            DocPrintJob job = service.createPrintJob();
+            job.print(new SimpleDoc(data, DocFlavor.BYTE_ARRAY.AUTOSENSE, null), null);
+        };
+    }
+
+    static RawSlipPrinter toFile(Path file) {
+        return data -> Files.write(file, data, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /** The file stand-in if {@code rawFile} is configured, else the resolved printer (may be null). */
+    static RawSlipPrinter forSettings(PrintSettings settings, PrintService service) {
+        if (!settings.rawFile().isEmpty()) return toFile(Paths.get(settings.rawFile()));
+        return service == null ? null : to(service);
+    }
+}
@@ -0,0 +1,297 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.printing.PDFPrintable;
+
+import javax.print.PrintException;
+import javax.print.PrintService;
+import java.awt.print.PrinterException;
+import java.awt.print.PrinterJob;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The bytes each slip was printed with, kept so a duplicate goes to the printer without
+ * re-keying or re-rendering the slip. Files live in the {@code reprint} data dir, named
+ * {@code <slip id>_<truck>_<hash>.pdf} (or {@code .bin} for ESC/POS and text). The slip id is
+ * {@code yyyyMMdd-<ledger sequence>}, so names sort in print order. The hash is the first 64
+ * bits of the SHA-256 of the content: a reprint checks the bytes against it and drops a file
+ * that doesn't match rather than printing garbage.
+ * <p>
+ * The index is just the file names, read from the directory at start and then kept in an
+ * access-ordered map. Once the files pass the size cap ({@code reprintCacheMb} in
+ * {@code print.properties}), the least recently printed or reprinted ones are deleted. A reprint
+ * bumps the file's modified time, so that order survives a restart.
+ */
+final class ReprintCache {
+
+    static final String DIR = "reprint";
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String PDF = ".pdf";
+    private static final String RAW = ".bin";
+
+    /** One cached slip. */
+    record Entry(String id, String truck, String hash, boolean pdf, long bytes, Path file) {
+        String fileName() {
+            return file.getFileName().toString();
+        }
+    }
+
+    private final Path dir;
+    private final long maxBytes;
+
+    // guarded by this; eldest (least recently used) first
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private ReprintCache(Path dir, long maxBytes) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+    }
+
+    /** Indexes what is already on disk; a few hundred file names, no content is read. */
+    static ReprintCache open(Path dir, long maxBytes) throws IOException {
+        ReprintCache c = new ReprintCache(Files.createDirectories(dir), maxBytes);
+        Map<Path, FileTime> modified = new HashMap<>();
+        try (DirectoryStream<Path> s = Files.newDirectoryStream(dir, "*_*_*.{pdf,bin}")) {
+            for (Path f : s) modified.put(f, Files.getLastModifiedTime(f));
+        }
+        List<Path> files = new ArrayList<>(modified.keySet());
+        files.sort(Comparator.comparing(modified::get));   // least recently used first
+
+        synchronized (c) {
+            for (Path f : files) {
+                Entry e = parse(f, Files.size(f));
+                if (e != null) c.add(e);
+            }
+            c.evict();
+        }
+        return c;
+    }
+
+    static ReprintCache openDefault(PrintSettings settings) throws IOException {
+        return open(DataDirs.root().resolve(DIR), settings.reprintCacheMb() * (1L << 20));
+    }
+
+    /** {@code 20261017-42}: the ledger day and sequence of a slip. */
+    static String slipId(long timestampMillis, long sequence) {
+        return DAY.format(Instant.ofEpochMilli(timestampMillis).atZone(ZoneId.systemDefault())) + "-" + sequence;
+    }
+
+    // ---------------- Store (print thread) ----------------
+
+    /** Keeps the bytes a slip was just printed with. Written to a temp name and moved into place. */
+    Entry put(String slipId, String truck, byte[] data, boolean pdf) throws IOException {
+        String hash = hash(data);
+        String key = TruckIndex.key(truck);
+        Path file = dir.resolve(slipId + "_" + (key.isEmpty() ? "-" : key) + "_" + hash + (pdf ? PDF : RAW));
+        if (!Files.exists(file)) {   // same name means same bytes: nothing to write
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tmp, data);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        Entry e = new Entry(slipId, key, hash, pdf, data.length, file);
+        synchronized (this) {
+            Entry old = index.remove(e.fileName());
+            if (old != null) totalBytes -= old.bytes();
+            add(e);
+            evict();
+        }
+        return e;
+    }
+
+    // ---------------- Lookups ----------------
+
+    /** The newest {@code n} slips, newest first. */
+    synchronized List<Entry> last(int n) {
+        List<Entry> all = new ArrayList<>(index.values());
+        all.sort(NEWEST_FIRST);
+        return all.subList(0, Math.min(n, all.size()));
+    }
+
+    /** The newest slip of {@code truck} (spaces, dashes and case ignored), or null. */
+    synchronized Entry lastFor(String truck) {
+        String key = TruckIndex.key(truck);
+        Entry best = null;
+        for (Entry e : index.values()) {
+            if (e.truck().equals(key) && (best == null || NEWEST_FIRST.compare(e, best) < 0)) best = e;
+        }
+        return best;
+    }
+
+    synchronized int size() {
+        return index.size();
+    }
+
+    /** The cached bytes, or null if the file is gone or no longer matches its hash. */
+    byte[] read(Entry e) throws IOException {
+        byte[] data;
+        try {
+            data = Files.readAllBytes(e.file());
+        } catch (NoSuchFileException gone) {
+            data = null;
+        }
+        if (data != null && hash(data).equals(e.hash())) {
+            synchronized (this) {
+                index.get(e.fileName());   // touch: most recently used
+            }
+            Files.setLastModifiedTime(e.file(), FileTime.from(Instant.now()));
+            return data;
+        }
+        System.err.println("reprint: dropping damaged or missing " + e.fileName());
+        synchronized (this) {
+            if (index.remove(e.fileName()) != null) totalBytes -= e.bytes();
+        }
+        Files.deleteIfExists(e.file());
+        return null;
+    }
+
+    /** Sends cached bytes as they are: PDFs through {@code PrinterJob}, receipt bytes raw. */
+    static void print(Entry e, byte[] data, PrintService printer, PrintSettings settings)
+            throws IOException, PrinterException, PrintException {
+        try (Metrics.Timer t = Metrics.time(Metrics.Stage.SPOOL)) {
+            if (!e.pdf()) {
+                RawSlipPrinter raw = RawSlipPrinter.forSettings(settings, printer);
+                if (raw == null) throw new PrintException("no printer for reprint of " + e.id());
+                raw.send(data);
+                return;
+            }
+            if (printer == null) throw new PrintException("no printer for reprint of " + e.id());
+            try (PDDocument doc = PDDocument.load(data)) {
+                PrinterJob job = PrinterJob.getPrinterJob();
+                job.setPrintService(printer);
+                job.setPrintable(new PDFPrintable(doc));
+                job.print();
+            }
+        }
+    }
+
+    // ---------------- Internals ----------------
+
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator
+            .comparing((Entry e) -> e.id().substring(0, Math.max(0, e.id().indexOf('-'))))
+            .thenComparingLong(e -> sequence(e.id()))
+            .reversed();
+
+    private static long sequence(String id) {
+        try {
+            return Long.parseLong(id.substring(id.indexOf('-') + 1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void add(Entry e) {
+        index.put(e.fileName(), e);
+        totalBytes += e.bytes();
+    }
+
+    private void evict() {
+        Iterator<Entry> it = index.values().iterator();
+        while (totalBytes > maxBytes && index.size() > 1 && it.hasNext()) {
+            Entry e = it.next();
+            it.remove();
+            totalBytes -= e.bytes();
+            try {
+                Files.deleteIfExists(e.file());
+            } catch (IOException ex) {
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    // <id>_<truck>_<hash>.<pdf|bin>; anything else in the directory is left alone
+    private static Entry parse(Path file, long bytes) {
+        String name = file.getFileName().toString();
+        boolean pdf = name.endsWith(PDF);
+        String[] p = name.substring(0, name.length() - 4).split("_");
+        if (p.length != 3 || p[2].length() != 16) return null;
+        return new Entry(p[0], p[1].equals("-") ? "" : p[1], p[2], pdf, bytes, file);
+    }
+
+    private static String hash(byte[] data) {
+        try {
+            byte[] d = MessageDigest.getInstance("SHA-256").digest(data);
+            return HexFormat.of().formatHex(d, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);   // every JVM has SHA-256
+        }
+    }
+
+    // ---------------- CLI ----------------
+
+    /**
+     * {@code --reprint [--last N] [--truck NUMBER]}: sends the newest N slips (default 1), or
+     * the newest slip of one truck, to the configured printer.
+     */
+    static int run(String[] args) {
+        int last = 1;
+        String truck = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--last" -> last = Integer.parseInt(args[++i]);
+                    case "--truck" -> truck = args[++i];
+                    default -> throw new IllegalArgumentException(args[i]);
+                }
+            }
+            if (last < 1) throw new IllegalArgumentException("--last " + last);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("reprint: usage: --reprint [--last N] [--truck NUMBER]");
+            return 2;
+        }
+
+        PrintSettings settings = PrintSettings.load();
+        try {
+            ReprintCache cache = openDefault(settings);
+            List<Entry> entries;
+            if (truck == null) {
+                entries = cache.last(last);
+            } else {
+                Entry e = cache.lastFor(truck);
+                entries = e == null ? List.of() : List.of(e);
+            }
+            if (entries.isEmpty()) {
+                System.err.println("reprint: nothing cached" + (truck == null ? "" : " for " + truck));
+                return 2;
+            }
+
+            PrintService printer = SlipPrintService.resolve(settings.printerName());
+            int failed = 0;
+            for (Entry e : entries) {
+                long start = System.nanoTime();
+                byte[] data = cache.read(e);
+                if (data == null) {
+                    failed++;
+                    continue;
+                }
+                print(e, data, printer, settings);
+                System.out.printf(Locale.ROOT, "reprint: %s %s in %d ms%n", e.id(), e.truck(), (System.nanoTime() - start) / 1_000_000);
+            }
+            return failed == 0 ? 0 : 1;
+        } catch (IOException | PrinterException | PrintException e) {
+            e.printStackTrace();
+            return 1;
+        }
+    }
+}
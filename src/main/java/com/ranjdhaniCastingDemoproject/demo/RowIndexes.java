@@ -0,0 +1,51 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * The items of the finished sub-weight list: just the numbers {@code 0..size-1}. Each cell
+ * reads its row straight from {@link SlipForm}'s arrays, so there is no per-row object to
+ * build or keep in step. Resizing is one change event, whatever the row count.
+ */
+final class RowIndexes extends ObservableListBase<Integer> {
+
+    private int size;
+
+    @Override
+    public Integer get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        return index;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** Replaces every row, so cells rebind even where the count didn't change. */
+    void reset(int newSize) {
+        int old = size;
+        beginChange();
+        size = newSize;
+        if (old > 0) nextRemove(0, upTo(old));
+        if (newSize > 0) nextAdd(0, newSize);
+        endChange();
+    }
+
+    private static List<Integer> upTo(int n) {
+        return new AbstractList<>() {
+            @Override
+            public Integer get(int index) {
+                return index;
+            }
+
+            @Override
+            public int size() {
+                return n;
+            }
+        };
+    }
+}
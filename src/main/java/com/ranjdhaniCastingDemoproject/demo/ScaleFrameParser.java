@@ -0,0 +1,118 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+/**
+ * Byte-at-a-time parser for the continuous ASCII output of weighbridge indicators, e.g.
+ * <pre>
+ *   ST,GS,+  12345.0kg      (A&amp;D / most Chinese indicators)
+ *   US,GS,+  12350.0kg      (still moving)
+ *   \u0002  12345 kg\u0003       (STX/ETX framed)
+ *   12345.0                 (bare number per line)
+ * </pre>
+ * A frame ends at CR, LF or ETX. The first signed decimal number in it is the weight, in the
+ * indicator's unit; {@code US} or {@code M} ("motion") anywhere marks it unstable. Nothing is
+ * allocated per byte or per frame, so a reader thread can run it at any rate the line allows.
+ */
+final class ScaleFrameParser {
+
+    static final long NO_READING = Fixed.INVALID;
+
+    private static final int MAX_DIGITS = 12;   // keeps mantissa * grams-per-tonne inside a long
+
+    private final long gramsPerUnit;
+
+    // current frame
+    private long mantissa;
+    private int digits;
+    private int fractionDigits;
+    private boolean negative;
+    private boolean inNumber;
+    private boolean numberDone;
+    private boolean dot;
+    private boolean motion;
+    private int prev;
+
+    // last completed frame
+    private long grams = NO_READING;
+    private boolean unstable;
+
+    ScaleFrameParser(long gramsPerUnit) {
+        this.gramsPerUnit = gramsPerUnit;
+    }
+
+    /**
+     * Feeds one byte.
+     * @return true when it ended a frame; {@link #grams()} and {@link #unstable()} then describe it
+     */
+    boolean feed(int b) {
+        b &= 0xFF;
+        if (b == '\r' || b == '\n' || b == 0x03) {
+            boolean any = digits > 0 || motion || dot;
+            finish();
+            return any;
+        }
+        if (b == 0x02) {                          // STX: start over
+            reset();
+            return false;
+        }
+
+        if (b == 'M' || (prev == 'U' && b == 'S')) motion = true;
+        prev = b;
+        if (numberDone) return false;
+
+        if (b >= '0' && b <= '9') {
+            inNumber = true;
+            if (digits < MAX_DIGITS) {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (dot) fractionDigits++;
+            }
+        } else if (b == '.' && inNumber && !dot) {
+            dot = true;
+        } else if (b == '-' && !inNumber) {
+            negative = true;
+        } else if (b == '+' && !inNumber) {
+            negative = false;
+        } else if (b == ' ' && !inNumber) {
+            // indicators pad between sign and digits
+        } else if (inNumber) {
+            numberDone = true;
+        } else {
+            negative = false;                     // a sign only counts right before the digits
+        }
+        return false;
+    }
+
+    /** Weight of the last frame in grams, or {@link #NO_READING} if it had no number. */
+    long grams() {
+        return grams;
+    }
+
+    boolean unstable() {
+        return unstable;
+    }
+
+    private void finish() {
+        if (digits == 0) {
+            grams = NO_READING;
+        } else {
+            long scale = 1;
+            for (int i = 0; i < fractionDigits; i++) scale *= 10;
+            long g = Fixed.mulDiv(mantissa, gramsPerUnit, scale);
+            grams = negative ? -g : g;
+        }
+        unstable = motion;
+        reset();
+    }
+
+    private void reset() {
+        mantissa = 0;
+        digits = 0;
+        fractionDigits = 0;
+        negative = false;
+        inNumber = false;
+        numberDone = false;
+        dot = false;
+        motion = false;
+        prev = 0;
+    }
+}
@@ -0,0 +1,152 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.util.function.LongConsumer;
+
+/**
+ * Reads the indicator's continuous output on its own daemon thread and reports each new
+ * stable weight. A reading is stable once {@code window} consecutive frames lie within
+ * {@code tolerance} of each other with no motion flag; it is reported once, and again only
+ * after the weight moves by more than the tolerance or the platform is emptied.
+ * <p>
+ * The source is reopened after errors or EOF, so a cable pulled mid-shift or a simulator
+ * restart just causes a pause. {@code onStable} runs on the reader thread and must hand
+ * off quickly; the UI posts to the FX thread from there.
+ */
+final class ScaleReader implements AutoCloseable {
+
+    private static final long RETRY_MILLIS = 2_000;
+    private static final int CONNECT_TIMEOUT_MILLIS = 3_000;
+
+    private final ScaleSettings settings;
+    private final LongConsumer onStable;
+    private final ScaleFrameParser parser;
+    private final Thread thread;
+    private volatile boolean closed;
+    private volatile Closeable current;   // closed from outside to unblock a pending read
+
+    // stability window (reader thread only)
+    private final long[] window;
+    private int filled;
+    private int next;
+    private long lastReported = ScaleFrameParser.NO_READING;
+
+    private ScaleReader(ScaleSettings settings, LongConsumer onStable) {
+        this.settings = settings;
+        this.onStable = onStable;
+        this.parser = new ScaleFrameParser(settings.gramsPerUnit());
+        this.window = new long[settings.window()];
+        this.thread = new Thread(this::run, "scale-reader");
+        thread.setDaemon(true);
+    }
+
+    static ScaleReader start(ScaleSettings settings, LongConsumer onStable) {
+        ScaleReader r = new ScaleReader(settings, onStable);
+        r.thread.start();
+        return r;
+    }
+
+    // ---------------- Reader thread ----------------
+    private void run() {
+        boolean reported = false;   // log a dead source once, not every retry
+        while (!closed) {
+            try (InputStream in = open()) {
+                current = in;
+                reported = false;
+                pump(in);
+            } catch (IOException e) {
+                if (closed) break;
+                if (!reported) e.printStackTrace();
+                reported = true;
+            } finally {
+                current = null;
+            }
+            filled = 0;
+            try {
+                Thread.sleep(RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+
+    private InputStream open() throws IOException {
+        String src = settings.source();
+        if (src.startsWith("tcp://")) {
+            URI uri = URI.create(src);
+            Socket socket = new Socket();
+            try {
+                socket.connect(new InetSocketAddress(uri.getHost(), uri.getPort()), CONNECT_TIMEOUT_MILLIS);
+                return socket.getInputStream();   // closing the stream closes the socket
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
+        }
+        return new FileInputStream(src);
+    }
+
+    private void pump(InputStream in) throws IOException {
+        byte[] buf = new byte[512];
+        int n;
+        while (!closed && (n = in.read(buf)) >= 0) {
+            for (int i = 0; i < n; i++) {
+                if (parser.feed(buf[i])) frame();
+            }
+        }
+    }
+
+    private void frame() {
+        long g = parser.grams();
+        if (g == ScaleFrameParser.NO_READING) return;
+
+        if (parser.unstable()) {                 // truck still rolling; start the window again
+            filled = 0;
+            return;
+        }
+
+        window[next] = g;
+        next = (next + 1) % window.length;
+        if (filled < window.length) filled++;
+        if (filled < window.length) return;
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long w : window) {
+            min = Math.min(min, w);
+            max = Math.max(max, w);
+        }
+        if (max - min > settings.toleranceGrams()) return;
+
+        long value = g;   // what the indicator is showing now, not an average it never displayed
+        if (value < settings.minimumGrams()) {
+            lastReported = ScaleFrameParser.NO_READING;   // platform empty: same weight may be reported again
+            return;
+        }
+        if (lastReported != ScaleFrameParser.NO_READING
+                && Math.abs(value - lastReported) <= settings.toleranceGrams()) return;
+
+        lastReported = value;
+        onStable.accept(value);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Closeable c = current;
+        if (c != null) {
+            try {
+                c.close();
+            } catch (IOException e) {
+                // already gone
+            }
+        }
+        thread.interrupt();
+    }
+}
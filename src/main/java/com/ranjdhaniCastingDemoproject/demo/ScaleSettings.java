@@ -0,0 +1,63 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Weighbridge indicator options, read from {@code scale.properties} in the data dir:
+ * <pre>
+ *   source    = tcp://localhost:4001   # tcp://host:port, or a device/pipe path (/dev/ttyUSB0, \\.\COM3)
+ *   window    = 10                     # consecutive frames that must agree before a reading counts
+ *   tolerance = 10                     # kg; max spread inside the window
+ *   minimum   = 20                     # kg; anything lighter is an empty platform
+ *   unit      = kg                     # what the indicator sends: kg | t
+ * </pre>
+ * No file or no {@code source} means no scale: weights are typed as before. Serial ports are
+ * read as plain files, so set baud/parity with the OS ({@code stty}, {@code mode COM3:})
+ * or a serial-to-TCP bridge.
+ */
+record ScaleSettings(String source, int window, long toleranceGrams, long minimumGrams, long gramsPerUnit) {
+
+    static final String FILE_NAME = "scale.properties";
+
+    static ScaleSettings load() {
+        return load(DataDirs.root().resolve(FILE_NAME));
+    }
+
+    static ScaleSettings load(Path file) {
+        Properties p = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (Reader r = Files.newBufferedReader(file)) {
+                p.load(r);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        int window;
+        try {
+            window = Integer.parseInt(p.getProperty("window", "10").trim());
+        } catch (NumberFormatException e) {
+            window = 10;
+        }
+
+        long tolerance = Fixed.tryParse(p.getProperty("tolerance", "10"), Fixed.WEIGHT);
+        long minimum = Fixed.tryParse(p.getProperty("minimum", "20"), Fixed.WEIGHT);
+        String unit = p.getProperty("unit", "kg").trim().toLowerCase(Locale.ROOT);
+
+        return new ScaleSettings(
+                p.getProperty("source", "").trim(),
+                Math.max(2, window),
+                tolerance == Fixed.INVALID ? 10 * Fixed.GRAMS_PER_KG : Math.max(0, tolerance),
+                minimum == Fixed.INVALID ? 20 * Fixed.GRAMS_PER_KG : Math.max(0, minimum),
+                unit.equals("t") ? Fixed.GRAMS_PER_TON : Fixed.GRAMS_PER_KG);
+    }
+
+    boolean enabled() {
+        return !source.isEmpty();
+    }
+}
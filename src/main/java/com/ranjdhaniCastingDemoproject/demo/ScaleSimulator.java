@@ -0,0 +1,118 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fake weighbridge indicator for trying the scale reader without one. It streams
+ * {@code ST/US,GS,+  12345.0kg} frames and loops through a truck cycle: empty platform,
+ * drive on (moving), settle with a little jitter, hold, drive off.
+ * <pre>
+ *   ./gradlew runScaleSimulator                          # tcp://localhost:4001, 50 frames/s
+ *   java ... ScaleSimulator --port 4002 --rate 100
+ *   java ... ScaleSimulator --stdout &gt; /tmp/scale-pipe   # into a named pipe (mkfifo)
+ * </pre>
+ */
+public final class ScaleSimulator {
+
+    private static final int[] PHASE_MILLIS = { 2_000, 1_500, 1_000, 5_000, 1_500 };
+
+    private final int rate;
+    private final Random rnd = new Random();
+
+    private ScaleSimulator(int rate) {
+        this.rate = rate;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 4001;
+        int rate = 50;
+        boolean stdout = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--rate" -> rate = Integer.parseInt(args[++i]);
+                case "--stdout" -> stdout = true;
+                default -> throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+
+        ScaleSimulator sim = new ScaleSimulator(Math.max(1, rate));
+        if (stdout) {
+            sim.stream(System.out);
+            return;
+        }
+
+        try (ServerSocket server = new ServerSocket(port)) {
+            System.out.println("scale simulator on tcp://localhost:" + port + " at " + rate + " frames/s");
+            while (true) {
+                Socket client = server.accept();
+                Thread t = new Thread(() -> {
+                    try (client) {
+                        sim.stream(client.getOutputStream());
+                    } catch (IOException e) {
+                        // client went away
+                    }
+                }, "scale-sim-client");
+                t.setDaemon(true);
+                t.start();
+            }
+        }
+    }
+
+    private void stream(OutputStream raw) throws IOException {
+        OutputStream out = new BufferedOutputStream(raw, 64);
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long nextFrame = System.nanoTime();
+        int phase = 0;
+        long phaseStart = System.currentTimeMillis();
+        long target = pickWeight();
+
+        while (true) {
+            long now = System.currentTimeMillis();
+            long inPhase = now - phaseStart;
+            if (inPhase >= PHASE_MILLIS[phase]) {
+                phase = (phase + 1) % PHASE_MILLIS.length;
+                phaseStart = now;
+                inPhase = 0;
+                if (phase == 0) target = pickWeight();
+            }
+
+            double kg;
+            boolean moving;
+            switch (phase) {
+                case 0 -> { kg = 0; moving = false; }                                              // empty
+                case 1 -> { kg = target * inPhase / (double) PHASE_MILLIS[1]; moving = true; }     // driving on
+                case 2 -> { kg = target + (rnd.nextInt(81) - 40); moving = true; }                // settling
+                case 3 -> { kg = target + (rnd.nextInt(3) - 1) * 5; moving = false; }             // holding
+                default -> { kg = target * (1 - inPhase / (double) PHASE_MILLIS[4]); moving = true; } // driving off
+            }
+
+            String frame = String.format(Locale.ROOT, "%s,GS,+%9.1fkg\r\n", moving ? "US" : "ST", kg);
+            out.write(frame.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            nextFrame += periodNanos;
+            long sleep = nextFrame - System.nanoTime();
+            if (sleep > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // truck gross weights in 10 kg steps
+    private long pickWeight() {
+        return (8_000 + rnd.nextInt(3_200) * 10L);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.util.List;
+
+/**
+ * A finished, priced slip. Immutable; safe to hand to the print thread.
+ * Weights are grams and money is paise (see {@link Fixed}).
+ */
+record Slip(SlipInput input,
+            long mainGrams,
+            List<Row> rows,
+            long subtotal,
+            int discountBasisPoints,
+            long total,
+            long gst,
+            long finalAmount) {
+
+    Slip {
+        rows = List.copyOf(rows);
+    }
+
+    /**
+     * One allocated sub-weight line. The last row of a slip is always the dust row, which
+     * carries no rate and shows the dust discount in place of a quality premium.
+     */
+    record Row(long grams, boolean dust, boolean priced, long rate, long amount, String quality) {
+    }
+}
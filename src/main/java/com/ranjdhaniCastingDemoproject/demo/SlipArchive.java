@@ -0,0 +1,149 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Keeps a copy of every slip in the {@code archive} data dir, named from its slip id and
+ * truck: {@code archive/2026/10/17/000042_RJ14GB1234.pdf} ({@code .bin} for receipt bytes).
+ * A counter without a printer keeps going; its slips are simply filed here.
+ * <p>
+ * {@link #save} only queues the bytes. A writer thread takes whatever has queued and writes
+ * each file under a temp name. It then forces them all, and renames each into place
+ * atomically, so a crash leaves either the whole slip or nothing under its real name. A
+ * name already taken (the same slip id twice, as when there is no ledger) gets a
+ * {@code -2}, {@code -3}... suffix rather than overwriting.
+ */
+final class SlipArchive implements AutoCloseable {
+
+    static final String DIR = "archive";
+
+    private record Job(Path file, byte[] data) {
+    }
+
+    private static final Job STOP = new Job(null, null);
+
+    private final Path dir;
+    private final BlockingQueue<Job> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    // writer thread only
+    private final Set<Path> made = new HashSet<>();
+
+    private SlipArchive(Path dir) {
+        this.dir = dir;
+        this.writer = new Thread(this::run, "slip-archive");
+        writer.setDaemon(true);
+    }
+
+    static SlipArchive start(Path dir) {
+        SlipArchive a = new SlipArchive(dir);
+        a.writer.start();
+        return a;
+    }
+
+    static SlipArchive startDefault() {
+        return start(DataDirs.root().resolve(DIR));
+    }
+
+    /** Where a slip goes: {@code yyyy/MM/dd/<sequence>_<truck>.<ext>} from a {@link ReprintCache#slipId}. */
+    Path fileFor(String slipId, String truck, boolean pdf) {
+        String day = slipId.substring(0, 8);
+        long seq = Long.parseLong(slipId.substring(9));
+        String key = TruckIndex.key(truck);
+        return dir.resolve(day.substring(0, 4)).resolve(day.substring(4, 6)).resolve(day.substring(6, 8))
+                .resolve(String.format(Locale.ROOT, "%06d_%s%s", seq, key.isEmpty() ? "-" : key, pdf ? ".pdf" : ".bin"));
+    }
+
+    /** Queues a copy of the slip for {@link #fileFor} (or a suffixed name if that is taken). Never blocks. */
+    void save(String slipId, String truck, byte[] data, boolean pdf) {
+        queue.add(new Job(fileFor(slipId, truck, pdf), data));
+    }
+
+    // ---------------- Writer thread ----------------
+    private void run() {
+        List<Job> batch = new ArrayList<>();
+        boolean stop = false;
+        while (!stop) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch);
+            stop = batch.remove(STOP);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    // temp files first, one sync pass over all of them, then the renames
+    private void write(List<Job> batch) {
+        List<Job> written = new ArrayList<>(batch.size());
+        List<Path> temps = new ArrayList<>(batch.size());
+        List<FileChannel> open = new ArrayList<>(batch.size());
+        for (Job job : batch) {
+            try {
+                Path parent = job.file().getParent();
+                if (made.add(parent)) Files.createDirectories(parent);
+                // a unique temp, since two slips in one batch can share a name
+                Path tmp = Files.createTempFile(parent, job.file().getFileName().toString(), ".tmp");
+                FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE);
+                open.add(ch);
+                ByteBuffer b = ByteBuffer.wrap(job.data());
+                while (b.hasRemaining()) ch.write(b);
+                written.add(job);
+                temps.add(tmp);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        for (FileChannel ch : open) {
+            try (ch) {
+                ch.force(false);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        for (int i = 0; i < written.size(); i++) {
+            try {
+                Files.move(temps.get(i), freeName(written.get(i).file()), StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static Path freeName(Path file) {
+        if (!Files.exists(file)) return file;
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        for (int n = 2; ; n++) {
+            Path p = file.resolveSibling(name.substring(0, dot) + "-" + n + name.substring(dot));
+            if (!Files.exists(p)) return p;
+        }
+    }
+
+    /** Waits until every slip queued so far is on disk; the writer is a daemon, so exit won't. */
+    @Override
+    public void close() {
+        queue.add(STOP);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless re-issue/back-fill: reads a CSV or JSON file of truck loads, runs each through
+ * {@link SlipCalculator} (the same allocation and pricing the form uses) and renders the
+ * slips on a worker pool, as one PDF per truck and/or a single merged PDF.
+ * <pre>
+ *   java -jar app.jar --batch trucks.csv [--out DIR] [--merged day.pdf] [--threads N] [--record] [--date YYYY-MM-DD]
+ * </pre>
+ * CSV needs a header naming the columns (any order):
+ * {@code truck,mainWeight,subweights,price1,price2,qualities,discount,gst[,time]}. The list columns
+ * hold {@code ;}-separated entries as typed on the form (blank entries allowed), and
+ * values with thousands commas must be quoted. JSON is an array of objects with the same
+ * keys, where the list keys are arrays.
+ * <p>
+ * {@code --record} also appends each slip that rendered to the ledger of its day. The day is
+ * the {@code time} column ({@code 2026-10-16} or {@code 2026-10-16 14:30}), else {@code --date},
+ * else today; a date alone stamps the start of that day. The ledger has a single writer, so
+ * the run is refused while the desk app has one of those days open.
+ */
+public final class SlipBatch {
+
+    private static final String[] COLUMNS =
+            { "truck", "mainWeight", "subweights", "price1", "price2", "qualities", "discount", "gst", "time" };
+
+    /** One row of the input: the load, and when to file it ({@code null}: the run's default). */
+    record Load(SlipInput input, LocalDateTime time) {
+    }
+
+    private SlipBatch() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /** @return process exit code: 0 ok, 1 some slips failed, 2 bad arguments or input */
+    static int run(String[] args) {
+        Path input = null;
+        Path outDir = null;
+        Path merged = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean record = false;
+        LocalDate date = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--out" -> outDir = Paths.get(args[++i]);
+                    case "--merged" -> merged = Paths.get(args[++i]);
+                    case "--threads" -> threads = Math.max(1, Integer.parseInt(args[++i]));
+                    case "--record" -> record = true;
+                    case "--date" -> date = LocalDate.parse(args[++i]);
+                    default -> {
+                        if (args[i].startsWith("--") || input != null) throw new IllegalArgumentException(args[i]);
+                        input = Paths.get(args[i]);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            return usage("bad option " + e.getMessage());
+        }
+        if (input == null) return usage("no input file");
+        if (outDir == null && merged == null) outDir = defaultOutDir(input);
+
+        List<Load> loads;
+        try {
+            loads = read(input);
+        } catch (IOException | IllegalArgumentException | DateTimeParseException e) {
+            System.err.println("batch: cannot read " + input + ": " + e.getMessage());
+            return 2;
+        }
+
+        long[] stamps = stamps(loads, date == null ? LocalDate.now() : date);
+        if (record) {
+            String busy = ledgerInUse(stamps);
+            if (busy != null) {
+                System.err.println("batch: not recording: " + busy);
+                return 2;
+            }
+        }
+
+        try {
+            return new SlipBatch().render(loads, stamps, outDir, merged, threads, record);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return 1;
+        }
+    }
+
+    private static int usage(String why) {
+        System.err.println("batch: " + why);
+        System.err.println("usage: --batch <trucks.csv|trucks.json> [--out DIR] [--merged FILE.pdf] [--threads N] [--record] [--date YYYY-MM-DD]");
+        return 2;
+    }
+
+    private static Path defaultOutDir(Path input) {
+        String name = input.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return input.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + "-slips");
+    }
+
+    // ---------------- Rendering ----------------
+    private int render(List<Load> loads, long[] stamps, Path outDir, Path merged, int threads, boolean record)
+            throws IOException {
+        if (outDir != null) Files.createDirectories(outDir);
+        long start = System.nanoTime();
+
+        // One renderer for all workers: its constructor measures every glyph, which also fills
+        // the shared Helvetica's encode/width caches before any worker touches them.
+        SlipPdfRenderer renderer = new SlipPdfRenderer();
+        Slip[] slips = new Slip[loads.size()];
+        for (int i = 0; i < slips.length; i++) slips[i] = SlipCalculator.calculate(loads.get(i).input());
+        boolean[] rendered = new boolean[slips.length];
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<byte[]>> pdfs = new ArrayList<>(slips.length);
+        int failed = 0;
+        try {
+            for (int i = 0; i < slips.length; i++) {
+                Slip slip = slips[i];
+                Path file = outDir == null ? null : outDir.resolve(fileName(i + 1, slip));
+                boolean keep = merged != null;
+                pdfs.add(pool.submit(() -> renderOne(renderer, slip, file, keep)));
+            }
+
+            PDFMergerUtility merger = merged == null ? null : new PDFMergerUtility();
+            for (int i = 0; i < pdfs.size(); i++) {
+                try {
+                    byte[] pdf = pdfs.get(i).get();
+                    if (merger != null) merger.addSource(new ByteArrayInputStream(pdf));
+                    rendered[i] = true;
+                } catch (ExecutionException e) {
+                    failed++;
+                    System.err.println("batch: slip " + (i + 1) + " (" + slips[i].input().truck() + ") failed");
+                    e.getCause().printStackTrace();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return 1;
+                }
+            }
+            if (merger != null) {
+                merger.setDestinationFileName(merged.toString());
+                merger.mergeDocuments(MemoryUsageSetting.setupTempFileOnly());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        if (record) recordAll(slips, stamps, rendered);
+
+        double secs = (System.nanoTime() - start) / 1e9;
+        int ok = slips.length - failed;
+        System.out.printf(Locale.ROOT, "batch: %d slips in %.2f s (%.1f slips/s) on %d threads%s%s%n",
+                ok, secs, ok / Math.max(secs, 1e-9), threads,
+                outDir == null ? "" : " -> " + outDir,
+                merged == null ? "" : " -> " + merged);
+        return failed == 0 ? 0 : 1;
+    }
+
+    private static byte[] renderOne(SlipPdfRenderer renderer, Slip slip, Path file, boolean keep) throws IOException {
+        try (PDDocument doc = renderer.render(slip)) {
+            if (!keep) {
+                doc.save(file.toFile());
+                return null;
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+            doc.save(out);
+            byte[] pdf = out.toByteArray();
+            if (file != null) Files.write(file, pdf);
+            return pdf;
+        }
+    }
+
+    private static String fileName(int n, Slip slip) {
+        String truck = TruckIndex.key(slip.input().truck());
+        return String.format(Locale.ROOT, "%04d%s.pdf", n, truck.isEmpty() ? "" : "-" + truck);
+    }
+
+    // in time order, so each day's file is opened once; a failed slip is not recorded
+    private static void recordAll(Slip[] slips, long[] stamps, boolean[] rendered) throws IOException {
+        Integer[] order = new Integer[slips.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingLong(i -> stamps[i]));
+        // one force per file on close rather than one per record
+        try (SlipLedger ledger = new SlipLedger(DataDirs.dir("ledger"), ZoneId.systemDefault(), false)) {
+            for (int i : order) {
+                if (rendered[i]) ledger.append(slips[i], stamps[i]);
+            }
+        }
+    }
+
+    private static long[] stamps(List<Load> loads, LocalDate defaultDay) {
+        long now = System.currentTimeMillis();
+        long dayStart = defaultDay.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        boolean today = defaultDay.equals(LocalDate.now());
+        long[] out = new long[loads.size()];
+        for (int i = 0; i < out.length; i++) {
+            LocalDateTime t = loads.get(i).time();
+            out[i] = t != null ? t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : today ? now : dayStart;
+        }
+        return out;
+    }
+
+    // the desk app holds the ledger of the day it is on; say which one is taken, or null
+    private static String ledgerInUse(long[] stamps) {
+        Set<LocalDate> days = new TreeSet<>();
+        for (long t : stamps) days.add(Instant.ofEpochMilli(t).atZone(ZoneId.systemDefault()).toLocalDate());
+        for (LocalDate day : days) {
+            try (SlipLedger ledger = new SlipLedger(DataDirs.dir("ledger"), ZoneId.systemDefault(), false)) {
+                ledger.open(day.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            } catch (IOException e) {
+                return e.getMessage();
+            }
+        }
+        return null;
+    }
+
+    // ---------------- Input ----------------
+    static List<Load> read(Path file) throws IOException {
+        String text = Files.readString(file);
+        if (!text.isEmpty() && text.charAt(0) == '\uFEFF') text = text.substring(1);   // Excel BOM
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".json") ? readJson(text) : readCsv(text);
+    }
+
+    static List<Load> readJson(String text) {
+        if (!(Json.parse(text) instanceof List<?> list)) throw new IllegalArgumentException("expected a JSON array");
+        List<Load> out = new ArrayList<>(list.size());
+        for (Object o : list) {
+            if (!(o instanceof Map<?, ?> m)) throw new IllegalArgumentException("expected objects in the array");
+            out.add(new Load(new SlipInput(Json.text(m, "truck"), Json.text(m, "mainWeight"), Json.texts(m, "subweights"),
+                    Json.text(m, "price1"), Json.text(m, "price2"), Json.texts(m, "qualities"),
+                    discount(Json.text(m, "discount")), Json.text(m, "gst")), time(Json.text(m, "time"))));
+        }
+        return out;
+    }
+
+    static List<Load> readCsv(String text) {
+        List<List<String>> rows = csvRows(text);
+        if (rows.isEmpty()) return List.of();
+
+        Map<String, Integer> col = new HashMap<>();
+        List<String> header = rows.get(0);
+        for (int i = 0; i < header.size(); i++) col.put(header.get(i).trim(), i);
+        if (!col.containsKey("mainWeight")) {
+            throw new IllegalArgumentException("header must name the columns: " + String.join(",", COLUMNS));
+        }
+
+        List<Load> out = new ArrayList<>(rows.size() - 1);
+        for (List<String> r : rows.subList(1, rows.size())) {
+            if (r.size() == 1 && r.get(0).isBlank()) continue;
+            out.add(new Load(new SlipInput(cell(r, col, "truck"), cell(r, col, "mainWeight"), list(cell(r, col, "subweights")),
+                    cell(r, col, "price1"), cell(r, col, "price2"), list(cell(r, col, "qualities")),
+                    discount(cell(r, col, "discount")), cell(r, col, "gst")), time(cell(r, col, "time"))));
+        }
+        return out;
+    }
+
+    // the form's dust combo starts at 1.5; a blank cell means the same
+    private static String discount(String s) {
+        return s.isBlank() ? "1.5" : s.trim();
+    }
+
+    // "2026-10-16", "2026-10-16 14:30" or "2026-10-16T14:30:05"; blank for the run's default
+    private static LocalDateTime time(String s) {
+        s = s.strip();
+        if (s.isEmpty()) return null;
+        if (s.length() == 10) return LocalDate.parse(s).atStartOfDay();
+        return LocalDateTime.parse(s.replace(' ', 'T'));
+    }
+
+    private static String cell(List<String> row, Map<String, Integer> col, String name) {
+        Integer i = col.get(name);
+        return i == null || i >= row.size() ? "" : row.get(i);
+    }
+
+    private static List<String> list(String cell) {
+        return cell.isBlank() ? List.of() : Arrays.asList(cell.split(";", -1));
+    }
+
+    /** RFC 4180-ish: quoted fields may hold commas, doubled quotes and newlines. */
+    private static List<List<String>> csvRows(String text) {
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') { cell.append('"'); i++; }
+                else if (c == '"') quoted = false;
+                else cell.append(c);
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(cell.toString());
+                cell.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') i++;
+                row.add(cell.toString());
+                cell.setLength(0);
+                rows.add(row);
+                row = new ArrayList<>();
+            } else {
+                cell.append(c);
+            }
+        }
+        if (cell.length() > 0 || !row.isEmpty()) {
+            row.add(cell.toString());
+            rows.add(row);
+        }
+        return rows;
+    }
+}
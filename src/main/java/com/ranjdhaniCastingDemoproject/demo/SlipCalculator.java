@@ -0,0 +1,139 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Slip math with no UI attached: sub-weight allocation, row rates and the dust discount.
+ * Main calls into this from the FX thread; batch tools and benchmarks call it directly.
+ * <p>
+ * All values are {@link Fixed} longs: weights in grams, rates and amounts in paise.
+ */
+final class SlipCalculator {
+
+    private SlipCalculator() {
+    }
+
+    // ---------------- Full slip ----------------
+    static Slip calculate(SlipInput in) {
+        long mainGrams = Fixed.parseWeight(in.mainWeight());
+        long p1 = Fixed.parseMoney(in.price1());
+        long p2 = Fixed.parseMoney(in.price2());
+
+        long[] grams = allocate(mainGrams, in.subweights());
+        List<Slip.Row> rows = new ArrayList<>(grams.length);
+        long subtotal = 0;
+
+        for (int i = 0; i < grams.length; i++) {
+            boolean isDust = (i == grams.length - 1);
+            String q = i < in.qualities().size() ? in.qualities().get(i) : "";
+
+            if (isDust) {
+                rows.add(new Slip.Row(grams[i], true, false, 0, 0, in.dustDiscount() == null ? "" : in.dustDiscount()));
+                continue;
+            }
+
+            if (grams[i] <= 0) {
+                rows.add(new Slip.Row(grams[i], false, false, 0, 0, q));
+                continue;
+            }
+
+            long rate = rowRate(p1, p2, Fixed.parseMoney(q));
+            long amount = Fixed.amount(rate, grams[i]);
+            subtotal += amount;
+            rows.add(new Slip.Row(grams[i], false, true, rate, amount, q));
+        }
+
+        int bp = discountBasisPoints(in.dustDiscount());
+        long total = applyDiscount(subtotal, bp);
+        long gst = Fixed.parseMoney(in.gst());
+        return new Slip(in, mainGrams, rows, subtotal, bp, total, gst, total + gst);
+    }
+
+    // ---------------- Allocation ----------------
+
+    /**
+     * Turns the raw entries typed before the sentinel into the final sub-weights (grams).
+     * The last non-blank entry is the dust; whatever the main weight has left after the
+     * other entries and the dust goes into the first blank entry (or onto the first row
+     * when there is none). The returned array always ends with the dust row; when nothing
+     * was entered it holds just the main weight.
+     */
+    static long[] allocate(long mainGrams, List<String> raw) {
+        return allocate(mainGrams, parseEntries(raw));
+    }
+
+    /** {@link #allocate(long, List)} for entries already parsed, {@link Fixed#INVALID} where blank. */
+    static long[] allocate(long mainGrams, long[] entries) {
+        int n = entries.length;
+        boolean[] present = new boolean[n];
+
+        int lastNonNullIndex = -1;
+        for (int i = 0; i < n; i++) {
+            if (entries[i] == Fixed.INVALID) continue;
+            present[i] = true;
+            lastNonNullIndex = i;
+        }
+
+        if (lastNonNullIndex == -1) return new long[] { mainGrams };
+
+        long dustValue = entries[lastNonNullIndex];
+
+        long sumPre = 0;
+        int firstEmptyIndex = -1;
+        for (int i = 0; i < lastNonNullIndex; i++) {
+            if (!present[i]) { if (firstEmptyIndex == -1) firstEmptyIndex = i; }
+            else sumPre += entries[i];
+        }
+
+        long remaining = mainGrams - (sumPre + dustValue);
+        if (remaining < 0) remaining = 0;
+
+        int preCount = Math.max(lastNonNullIndex, 1);
+        long[] out = new long[preCount + 1];
+        for (int i = 0; i < lastNonNullIndex; i++) {
+            if (present[i]) out[i] = entries[i];   // blanks stay 0 until one takes the remainder
+        }
+
+        if (firstEmptyIndex != -1) out[firstEmptyIndex] = remaining;
+        else out[0] += remaining;
+
+        out[preCount] = dustValue;
+        return out;
+    }
+
+    /** Whether {@link #allocate} fell back to a single dust-only row. */
+    static boolean isDustOnly(List<String> raw) {
+        return isDustOnly(parseEntries(raw));
+    }
+
+    static boolean isDustOnly(long[] entries) {
+        for (long v : entries) {
+            if (v != Fixed.INVALID) return false;
+        }
+        return true;
+    }
+
+    /** Raw entries as grams, {@link Fixed#INVALID} where blank or not a number. */
+    static long[] parseEntries(List<String> raw) {
+        long[] entries = new long[raw.size()];
+        for (int i = 0; i < entries.length; i++) entries[i] = Fixed.tryParse(raw.get(i), Fixed.WEIGHT);
+        return entries;
+    }
+
+    // ---------------- Rates / totals ----------------
+    static long rowRate(long p1, long p2, long quality) {
+        return p1 + p2 + quality;
+    }
+
+    /** Dust discount in basis points: "1.5" is 150, "1" is 100, anything else none. */
+    static int discountBasisPoints(String dustDiscount) {
+        if ("1.5".equals(dustDiscount)) return 150;
+        if ("1".equals(dustDiscount)) return 100;
+        return 0;
+    }
+
+    static long applyDiscount(long subtotal, int basisPoints) {
+        return subtotal - Fixed.mulDiv(subtotal, basisPoints, 10_000);
+    }
+}
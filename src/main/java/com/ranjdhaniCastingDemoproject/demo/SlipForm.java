@@ -0,0 +1,187 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * State of the truck currently being entered, kept apart from the nodes that show it so
+ * that a reset clears values instead of rebuilding the scene. The view reads the allocated
+ * rows from here when it rebinds its pooled row nodes.
+ * <p>
+ * It also keeps the totals up to date as the user types. Each row caches its parsed quality,
+ * rate and amount, and the subtotal is a running sum. An edit reprices only the rows it
+ * affects: one row for a quality, every row for a base price. Nothing is re-parsed. Changed
+ * rows are marked dirty so the view can redraw just those, once per pulse. The figures
+ * match {@link SlipCalculator#calculate} for the same input.
+ */
+final class SlipForm {
+
+    private static final long[] NO_ROWS = new long[0];
+
+    private final List<String> rawSubweights = new ArrayList<>();
+    private long[] rows = NO_ROWS;
+    private boolean subweightsFinished;
+    private boolean dustOnly;
+
+    // running totals, all Fixed (paise); arrays are indexed like rows
+    private long price1;
+    private long price2;
+    private long[] quality = NO_ROWS;
+    private long[] rate = NO_ROWS;
+    private long[] amount = NO_ROWS;
+    private long subtotal;
+    private int discountBasisPoints = SlipCalculator.discountBasisPoints("1.5");
+
+    // what changed since the view last drew
+    private final BitSet dirtyRows = new BitSet();
+    private boolean totalsDirty;
+
+    // ---------------- Transitions ----------------
+
+    /** Sentinel entered: remember what was typed and allocate the final rows. */
+    void finishSubweights(String mainWeight, List<String> raw) {
+        finishSubweights(Fixed.parseWeight(mainWeight), raw, SlipCalculator.parseEntries(raw));
+    }
+
+    /** The same, from values the fields already parsed ({@code entries} as for {@link SlipCalculator#allocate(long, long[])}). */
+    void finishSubweights(long mainGrams, List<String> raw, long[] entries) {
+        rawSubweights.clear();
+        rawSubweights.addAll(raw);
+        rows = SlipCalculator.allocate(mainGrams, entries);
+        dustOnly = SlipCalculator.isDustOnly(entries);
+        subweightsFinished = true;
+
+        quality = new long[rows.length];
+        rate = new long[rows.length];
+        amount = new long[rows.length];
+        subtotal = 0;
+        for (int i = 0; i < rows.length; i++) reprice(i);
+        totalsDirty = true;
+    }
+
+    void reset() {
+        rawSubweights.clear();
+        rows = NO_ROWS;
+        subweightsFinished = false;
+        dustOnly = false;
+
+        price1 = 0;
+        price2 = 0;
+        quality = rate = amount = NO_ROWS;
+        subtotal = 0;
+        discountBasisPoints = SlipCalculator.discountBasisPoints("1.5");
+        dirtyRows.clear();
+        totalsDirty = true;
+    }
+
+    // ---------------- Edits (FX thread) ----------------
+
+    void setPrice1(long paise) {
+        if (paise == price1) return;
+        price1 = paise;
+        repriceAll();
+    }
+
+    void setPrice2(long paise) {
+        if (paise == price2) return;
+        price2 = paise;
+        repriceAll();
+    }
+
+    /** Quality premium for one row; ignored for the dust row and rows not allocated yet. */
+    void setQuality(int index, long paise) {
+        if (index < 0 || index >= rows.length - 1 || quality[index] == paise) return;
+        quality[index] = paise;
+        reprice(index);
+    }
+
+    void setDiscount(String dustDiscount) {
+        int bp = SlipCalculator.discountBasisPoints(dustDiscount);
+        if (bp == discountBasisPoints) return;
+        discountBasisPoints = bp;
+        totalsDirty = true;
+    }
+
+    private void repriceAll() {
+        for (int i = 0; i < rows.length; i++) reprice(i);
+    }
+
+    // same rules as SlipCalculator.calculate: the dust row and empty rows carry no amount
+    private void reprice(int i) {
+        long r = 0;
+        long a = 0;
+        if (i < rows.length - 1 && rows[i] > 0) {
+            r = SlipCalculator.rowRate(price1, price2, quality[i]);
+            a = Fixed.amount(r, rows[i]);
+        }
+        if (r != rate[i]) {
+            rate[i] = r;
+            dirtyRows.set(i);
+        }
+        if (a != amount[i]) {
+            subtotal += a - amount[i];
+            amount[i] = a;
+            totalsDirty = true;
+        }
+    }
+
+    // ---------------- Reads ----------------
+    boolean subweightsFinished() {
+        return subweightsFinished;
+    }
+
+    /** Only the main weight was entered, so there is a single unpriced dust row. */
+    boolean dustOnly() {
+        return dustOnly;
+    }
+
+    /** Entries as typed before the sentinel. */
+    List<String> rawSubweights() {
+        return rawSubweights;
+    }
+
+    /** Allocated sub-weights in grams; the last one is the dust. */
+    long[] rows() {
+        return rows;
+    }
+
+    int rowCount() {
+        return rows.length;
+    }
+
+    /** Rate of a priced row in paise per ton; 0 for the dust row and empty rows. */
+    long rate(int index) {
+        return rate[index];
+    }
+
+    long subtotal() {
+        return subtotal;
+    }
+
+    /** Subtotal less the dust discount, before GST. */
+    long total() {
+        return SlipCalculator.applyDiscount(subtotal, discountBasisPoints);
+    }
+
+    // ---------------- Dirty tracking for the view ----------------
+
+    /** Whether any row's rate changed since the last call; the view redraws the rows it shows. */
+    boolean takeRowsDirty() {
+        boolean d = !dirtyRows.isEmpty();
+        dirtyRows.clear();
+        return d;
+    }
+
+    /** Marks every row for a redraw, e.g. when the view is rebound to this form. */
+    void markRowsDirty() {
+        dirtyRows.set(0, rows.length);
+    }
+
+    /** Whether the total changed since the last call. */
+    boolean takeTotalsDirty() {
+        boolean d = totalsDirty;
+        totalsDirty = false;
+        return d;
+    }
+}
@@ -0,0 +1,412 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Slip history loaded from the ledger into flat primitive columns, plus the group-by
+ * queries behind the stats screen and {@code --stats}.
+ * <p>
+ * Day files load in parallel, one chunk per file, and are stitched in day order. Each slip
+ * has a day, a truck id (dictionary-encoded), main weight, total, discount, GST, final
+ * amount, dust weight and a row range. Each row has grams, quality and amount. Queries
+ * binary-search the day range and sum columns on a parallel {@link IntStream} into
+ * per-thread {@code long[]} accumulators, so nothing is boxed per slip. A year of slips is
+ * a few MB of arrays and answers in milliseconds.
+ * <p>
+ * Revenue is the slip total: after the dust discount, before GST.
+ */
+final class SlipHistory {
+
+    /** One line of a grouped answer. For grades, {@code slips} counts rows and revenue is before the dust discount. */
+    record Group(String key, long slips, long grams, long revenue, long dustGrams, long discount) {
+    }
+
+    /** Whole-range figures. {@code avgQuality} is the premium per ton weighted by row weight. */
+    record Summary(long slips, long grams, long revenue, long gst, long finalAmount,
+                   long dustGrams, long discount, long avgQuality) {
+    }
+
+    // slip columns
+    private final int[] day;          // epoch day, non-decreasing
+    private final int[] truck;        // index into trucks
+    private final long[] mainGrams;
+    private final long[] total;
+    private final long[] discount;
+    private final long[] gst;
+    private final long[] finalAmount;
+    private final long[] dustGrams;
+    private final int[] rowStart;     // rows of slip i are [rowStart[i], rowStart[i + 1])
+
+    // row columns, priced rows only (dust excluded)
+    private final long[] rowGrams;
+    private final long[] rowQuality;
+    private final long[] rowAmount;
+
+    private final String[] trucks;
+    private final int slips;
+
+    private SlipHistory(Chunk all, String[] trucks) {
+        this.slips = all.slips;
+        this.day = Arrays.copyOf(all.day, slips);
+        this.truck = Arrays.copyOf(all.truck, slips);
+        this.mainGrams = Arrays.copyOf(all.mainGrams, slips);
+        this.total = Arrays.copyOf(all.total, slips);
+        this.discount = Arrays.copyOf(all.discount, slips);
+        this.gst = Arrays.copyOf(all.gst, slips);
+        this.finalAmount = Arrays.copyOf(all.finalAmount, slips);
+        this.dustGrams = Arrays.copyOf(all.dustGrams, slips);
+        this.rowStart = Arrays.copyOf(all.rowStart, slips + 1);
+        this.rowStart[slips] = all.rows;
+        this.rowGrams = Arrays.copyOf(all.rowGrams, all.rows);
+        this.rowQuality = Arrays.copyOf(all.rowQuality, all.rows);
+        this.rowAmount = Arrays.copyOf(all.rowAmount, all.rows);
+        this.trucks = trucks;
+    }
+
+    // ---------------- Loading ----------------
+
+    static SlipHistory load(Path ledgerDir) throws IOException {
+        List<Path> files = SlipLedger.files(ledgerDir);
+        List<Chunk> chunks;
+        try {
+            chunks = files.parallelStream().map(SlipHistory::loadFile).toList();   // keeps day order
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        // stitch: one truck dictionary, row ranges shifted by what came before
+        Chunk all = new Chunk(0);
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        for (Chunk c : chunks) {
+            int[] remap = new int[c.names.size()];
+            for (int t = 0; t < remap.length; t++) {
+                remap[t] = ids.computeIfAbsent(c.names.get(t), k -> {
+                    names.add(k);
+                    return names.size() - 1;
+                });
+            }
+            all.append(c, remap);
+        }
+        return new SlipHistory(all, names.toArray(new String[0]));
+    }
+
+    private static Chunk loadFile(Path file) {
+        Chunk c = new Chunk(fileDay(file));
+        try {
+            SlipLedger.read(file, c::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return c;
+    }
+
+    // slips-2026-10-17.ledger -> epoch day
+    private static int fileDay(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return (int) LocalDate.parse(name.substring(6, 16)).toEpochDay();
+        } catch (DateTimeParseException | IndexOutOfBoundsException e) {
+            return 0;
+        }
+    }
+
+    int size() {
+        return slips;
+    }
+
+    // ---------------- CLI ----------------
+
+    /**
+     * {@code --stats [--by day|truck|grade] [--from YYYY-MM-DD] [--to YYYY-MM-DD]}; the default
+     * is by truck for the current month.
+     * @return process exit code: 0 ok, 1 ledger unreadable, 2 bad arguments
+     */
+    static int run(String[] args) {
+        String by = "truck";
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.withDayOfMonth(1);
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--by" -> by = args[++i];
+                    case "--from" -> from = LocalDate.parse(args[++i]);
+                    case "--to" -> to = LocalDate.parse(args[++i]);
+                    default -> throw new IllegalArgumentException(args[i]);
+                }
+            }
+            if (!by.equals("day") && !by.equals("truck") && !by.equals("grade")) throw new IllegalArgumentException(by);
+        } catch (RuntimeException e) {
+            System.err.println("stats: usage: --stats [--by day|truck|grade] [--from YYYY-MM-DD] [--to YYYY-MM-DD]");
+            return 2;
+        }
+
+        try {
+            long t0 = System.nanoTime();
+            SlipHistory h = load(DataDirs.dir("ledger"));
+            long t1 = System.nanoTime();
+            Summary sum = h.summary(from, to);
+            List<Group> groups = by.equals("day") ? h.byDay(from, to)
+                    : by.equals("grade") ? h.byGrade(from, to) : h.byTruck(from, to);
+            long t2 = System.nanoTime();
+
+            for (String line : format(by, from, to, sum, groups)) System.out.println(line);
+            System.out.printf(Locale.ROOT, "%nloaded %d slips / %d rows in %d ms, query %d ms%n",
+                    h.size(), h.rowCount(), (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000);
+            return 0;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return 1;
+        }
+    }
+
+    /** Fixed-width text for a query, shared by the CLI and the stats screen. */
+    static List<String> format(String by, LocalDate from, LocalDate to, Summary s, List<Group> groups) {
+        List<String> out = new ArrayList<>(groups.size() + 8);
+        out.add(from + " to " + to);
+        out.add(String.format(Locale.ROOT, "slips %d   weight %s kg   revenue %s   GST %s   final %s",
+                s.slips(), Fixed.formatWeight(s.grams()), Fixed.formatMoney(s.revenue()),
+                Fixed.formatMoney(s.gst()), Fixed.formatMoney(s.finalAmount())));
+        out.add(String.format(Locale.ROOT, "dust %s kg   dust discount %s   avg quality premium %s / t",
+                Fixed.formatWeight(s.dustGrams()), Fixed.formatMoney(s.discount()), Fixed.formatMoney(s.avgQuality())));
+        out.add("");
+
+        boolean grade = by.equals("grade");
+        out.add(String.format(Locale.ROOT, "%-14s %8s %16s %18s %14s %14s", by, grade ? "rows" : "slips", "weight kg",
+                grade ? "amount" : "revenue", "dust kg", "discount"));
+        for (Group g : groups) {
+            out.add(String.format(Locale.ROOT, "%-14s %8d %16s %18s %14s %14s", g.key(), g.slips(), Fixed.formatWeight(g.grams()),
+                    Fixed.formatMoney(g.revenue()), Fixed.formatWeight(g.dustGrams()), Fixed.formatMoney(g.discount())));
+        }
+        return out;
+    }
+
+    int rowCount() {
+        return rowGrams.length;
+    }
+
+    // ---------------- Queries ----------------
+
+    Summary summary(LocalDate from, LocalDate to) {
+        int lo = lower(from), hi = upper(to);
+        long[] s = slipSums(lo, hi, 1, i -> 0);
+        long[] q = IntStream.range(rowStart[lo], rowStart[hi]).parallel().collect(
+                () -> new long[2],
+                (acc, r) -> { acc[0] += rowQuality[r] * rowGrams[r]; acc[1] += rowGrams[r]; },
+                SlipHistory::addInto);
+        long gstSum = IntStream.range(lo, hi).parallel().mapToLong(i -> gst[i]).sum();
+        long finalSum = IntStream.range(lo, hi).parallel().mapToLong(i -> finalAmount[i]).sum();
+        return new Summary(s[0], s[1], s[2], gstSum, finalSum, s[3], s[4], q[1] == 0 ? 0 : q[0] / q[1]);
+    }
+
+    List<Group> byDay(LocalDate from, LocalDate to) {
+        int lo = lower(from), hi = upper(to);
+        if (lo == hi) return List.of();
+        int first = day[lo];
+        int days = day[hi - 1] - first + 1;
+        long[] s = slipSums(lo, hi, days, i -> day[i] - first);
+
+        List<Group> out = new ArrayList<>();
+        for (int g = 0; g < days; g++) {
+            if (s[g * W] != 0) out.add(group(LocalDate.ofEpochDay(first + g).toString(), s, g));
+        }
+        return out;
+    }
+
+    /** Heaviest truck first. */
+    List<Group> byTruck(LocalDate from, LocalDate to) {
+        int lo = lower(from), hi = upper(to);
+        long[] s = slipSums(lo, hi, trucks.length, i -> truck[i]);
+
+        List<Group> out = new ArrayList<>();
+        for (int g = 0; g < trucks.length; g++) {
+            if (s[g * W] != 0) out.add(group(trucks[g], s, g));
+        }
+        out.sort((a, b) -> Long.compare(b.grams(), a.grams()));
+        return out;
+    }
+
+    /** Grouped by quality premium (the grade), lowest first. */
+    List<Group> byGrade(LocalDate from, LocalDate to) {
+        int rlo = rowStart[lower(from)], rhi = rowStart[upper(to)];
+        if (rlo == rhi) return List.of();
+
+        // distinct premiums without boxing: sort a copy and squeeze out repeats
+        long[] grades = Arrays.copyOfRange(rowQuality, rlo, rhi);
+        Arrays.parallelSort(grades);
+        int k = 0;
+        for (int i = 0; i < grades.length; i++) if (i == 0 || grades[i] != grades[i - 1]) grades[k++] = grades[i];
+        long[] keys = Arrays.copyOf(grades, k);
+
+        long[] s = IntStream.range(rlo, rhi).parallel().collect(
+                () -> new long[keys.length * W],
+                (acc, r) -> {
+                    int g = Arrays.binarySearch(keys, rowQuality[r]) * W;
+                    acc[g]++;
+                    acc[g + 1] += rowGrams[r];
+                    acc[g + 2] += rowAmount[r];
+                },
+                SlipHistory::addInto);
+
+        List<Group> out = new ArrayList<>(keys.length);
+        for (int g = 0; g < keys.length; g++) out.add(group(Fixed.toPlain(keys[g], Fixed.MONEY), s, g));
+        return out;
+    }
+
+    // ---------------- Column sums ----------------
+    private static final int W = 5;   // slips, grams, revenue, dust grams, discount
+
+    private long[] slipSums(int lo, int hi, int groups, IntUnaryOperator groupOf) {
+        return IntStream.range(lo, hi).parallel().collect(
+                () -> new long[groups * W],
+                (acc, i) -> {
+                    int g = groupOf.applyAsInt(i) * W;
+                    acc[g]++;
+                    acc[g + 1] += mainGrams[i];
+                    acc[g + 2] += total[i];
+                    acc[g + 3] += dustGrams[i];
+                    acc[g + 4] += discount[i];
+                },
+                SlipHistory::addInto);
+    }
+
+    private static void addInto(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) a[i] += b[i];
+    }
+
+    private static Group group(String key, long[] s, int g) {
+        int o = g * W;
+        return new Group(key, s[o], s[o + 1], s[o + 2], s[o + 3], s[o + 4]);
+    }
+
+    // first slip on or after from (null = everything)
+    private int lower(LocalDate from) {
+        return from == null ? 0 : search((int) from.toEpochDay());
+    }
+
+    // first slip after to (null = everything)
+    private int upper(LocalDate to) {
+        return to == null ? slips : search((int) to.toEpochDay() + 1);
+    }
+
+    private int search(int d) {
+        int lo = 0, hi = slips;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (day[mid] < d) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // ---------------- Growable columns for loading ----------------
+    private static final class Chunk {
+        final int fileDay;
+        int slips;
+        int rows;
+        int[] day = new int[64];
+        int[] truck = new int[64];
+        long[] mainGrams = new long[64];
+        long[] total = new long[64];
+        long[] discount = new long[64];
+        long[] gst = new long[64];
+        long[] finalAmount = new long[64];
+        long[] dustGrams = new long[64];
+        int[] rowStart = new int[65];
+        long[] rowGrams = new long[256];
+        long[] rowQuality = new long[256];
+        long[] rowAmount = new long[256];
+
+        final Map<String, Integer> ids = new HashMap<>();
+        final List<String> names = new ArrayList<>();
+
+        Chunk(int fileDay) {
+            this.fileDay = fileDay;
+        }
+
+        void add(LedgerEntry e) {
+            int n = e.rowCount();
+            growSlips(slips + 1);
+            growRows(rows + n);
+
+            int t = ids.computeIfAbsent(TruckIndex.key(e.truck()), k -> {
+                names.add(k);
+                return names.size() - 1;
+            });
+
+            day[slips] = fileDay;
+            truck[slips] = t;
+            mainGrams[slips] = e.mainGrams();
+            total[slips] = e.total();
+            discount[slips] = e.subtotal() - e.total();
+            gst[slips] = e.gst();
+            finalAmount[slips] = e.finalAmount();
+            dustGrams[slips] = n == 0 ? 0 : e.grams()[n - 1];
+            rowStart[slips] = rows;
+
+            for (int r = 0; r < n - 1; r++) {   // last row is dust
+                if (e.grams()[r] <= 0) continue;   // unpriced
+                rowGrams[rows] = e.grams()[r];
+                rowQuality[rows] = e.qualities()[r];
+                rowAmount[rows] = e.amounts()[r];
+                rows++;
+            }
+            slips++;
+        }
+
+        void append(Chunk c, int[] remap) {
+            growSlips(slips + c.slips);
+            growRows(rows + c.rows);
+            for (int i = 0; i < c.slips; i++) {
+                day[slips + i] = c.day[i];
+                truck[slips + i] = remap[c.truck[i]];
+                rowStart[slips + i] = rows + c.rowStart[i];
+            }
+            System.arraycopy(c.mainGrams, 0, mainGrams, slips, c.slips);
+            System.arraycopy(c.total, 0, total, slips, c.slips);
+            System.arraycopy(c.discount, 0, discount, slips, c.slips);
+            System.arraycopy(c.gst, 0, gst, slips, c.slips);
+            System.arraycopy(c.finalAmount, 0, finalAmount, slips, c.slips);
+            System.arraycopy(c.dustGrams, 0, dustGrams, slips, c.slips);
+            System.arraycopy(c.rowGrams, 0, rowGrams, rows, c.rows);
+            System.arraycopy(c.rowQuality, 0, rowQuality, rows, c.rows);
+            System.arraycopy(c.rowAmount, 0, rowAmount, rows, c.rows);
+            slips += c.slips;
+            rows += c.rows;
+        }
+
+        private void growSlips(int need) {
+            if (need < day.length) return;
+            int cap = Math.max(need + 1, day.length * 2);
+            day = Arrays.copyOf(day, cap);
+            truck = Arrays.copyOf(truck, cap);
+            mainGrams = Arrays.copyOf(mainGrams, cap);
+            total = Arrays.copyOf(total, cap);
+            discount = Arrays.copyOf(discount, cap);
+            gst = Arrays.copyOf(gst, cap);
+            finalAmount = Arrays.copyOf(finalAmount, cap);
+            dustGrams = Arrays.copyOf(dustGrams, cap);
+            rowStart = Arrays.copyOf(rowStart, cap + 1);
+        }
+
+        private void growRows(int need) {
+            if (need <= rowGrams.length) return;
+            int cap = Math.max(need, rowGrams.length * 2);
+            rowGrams = Arrays.copyOf(rowGrams, cap);
+            rowQuality = Arrays.copyOf(rowQuality, cap);
+            rowAmount = Arrays.copyOf(rowAmount, cap);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * The hub that several counters push their slips to (see {@link HubClient} and
+ * {@link HubProtocol}). Run it headless on any PC on the LAN:
+ * <pre>
+ *   java -jar app.jar --hub [--port 7420] [--dir DIR] [--bind ADDRESS]
+ * </pre>
+ * Each counter's slips are kept in {@code DIR/<terminal>/slips-YYYY-MM-DD.ledger}, byte for
+ * byte as the counter wrote them, so the day report and stats tools can read them too. A
+ * slip counts as a duplicate when its sequence number is not above the highest already
+ * stored for that terminal and day. Counters send in order, so one number per file is enough.
+ * A batch is forced to disk before it is acknowledged. Every few seconds, if anything changed,
+ * a one-line summary of today is printed: slips, weight and amount per counter.
+ */
+public final class SlipHub implements AutoCloseable {
+
+    private static final long SUMMARY_MILLIS = 5_000;
+
+    private final Path dir;
+    private final ZoneId zone;
+    private final ServerSocket server;
+    private volatile boolean closed;
+
+    // guarded by this
+    private final Map<String, Store> stores = new HashMap<>();   // "terminal/day"
+    private final Map<String, long[]> today = new TreeMap<>();   // terminal -> {slips, grams, paise}
+    private LocalDate summaryDay;
+    private boolean changed;
+
+    SlipHub(Path dir, ZoneId zone, InetSocketAddress bind) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.zone = zone;
+        this.server = new ServerSocket();
+        server.setReuseAddress(true);
+        server.bind(bind);
+        loadToday();
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    static int run(String[] args) {
+        int port = HubProtocol.DEFAULT_PORT;
+        String bind = null;
+        Path dir = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--port" -> port = Integer.parseInt(args[++i]);
+                    case "--dir" -> dir = Paths.get(args[++i]);
+                    case "--bind" -> bind = args[++i];
+                    default -> throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("hub: usage: --hub [--port 7420] [--dir DIR] [--bind ADDRESS]");
+            return 2;
+        }
+
+        try {
+            if (dir == null) dir = DataDirs.dir("hub");
+            InetSocketAddress address = bind == null ? new InetSocketAddress(port) : new InetSocketAddress(bind, port);
+            try (SlipHub hub = new SlipHub(dir, ZoneId.systemDefault(), address)) {
+                System.out.println("hub: listening on " + address + ", storing in " + dir);
+                hub.serve();
+            }
+            return 0;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return 1;
+        }
+    }
+
+    /** Accepts counters until closed; one daemon thread per connection. */
+    void serve() throws IOException {
+        Thread summary = new Thread(this::summaryLoop, "hub-summary");
+        summary.setDaemon(true);
+        summary.start();
+
+        while (!closed) {
+            Socket s;
+            try {
+                s = server.accept();
+            } catch (IOException e) {
+                if (closed) return;
+                throw e;
+            }
+            Thread t = new Thread(() -> handle(s), "hub-" + s.getRemoteSocketAddress());
+            t.setDaemon(true);
+            t.start();
+        }
+    }
+
+    // ---------------- One counter ----------------
+    private void handle(Socket s) {
+        String terminal = null;
+        try (s) {
+            s.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream(), 1 << 16));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+
+            HubProtocol.Frame hello = HubProtocol.read(in);
+            if (hello.type() != HubProtocol.HELLO || hello.body().getShort() != HubProtocol.VERSION) {
+                HubProtocol.error(out, "expected HELLO version " + HubProtocol.VERSION);
+                return;
+            }
+            terminal = safeName(HubProtocol.text(hello.body()));
+            if (terminal.isEmpty()) {
+                HubProtocol.error(out, "empty terminal id");
+                return;
+            }
+
+            CRC32 crc = new CRC32();
+            while (!closed) {
+                HubProtocol.Frame f;
+                try {
+                    f = HubProtocol.read(in);
+                } catch (EOFException e) {
+                    return;   // counter hung up between batches
+                }
+                if (f.type() != HubProtocol.BATCH) {
+                    HubProtocol.error(out, "expected BATCH, got " + f.type());
+                    return;
+                }
+                int[] result = store(terminal, f.body(), crc);
+                if (result == null) {
+                    HubProtocol.error(out, "corrupt record in batch");
+                    return;
+                }
+                HubProtocol.ack(out, result[0], result[1]);
+            }
+        } catch (IOException e) {
+            if (!closed) System.err.println("hub: " + (terminal == null ? s.getRemoteSocketAddress() : terminal) + ": " + e);
+        }
+    }
+
+    /** Stores one BATCH body; returns {stored, duplicates}, or null if a record fails its CRC. */
+    private synchronized int[] store(String terminal, ByteBuffer body, CRC32 crc) throws IOException {
+        int count = body.getInt();
+        int pos = body.position();
+
+        // check the whole batch before writing any of it
+        if (count < 0 || count > body.remaining() / SlipLedger.HEADER_BYTES) return null;
+        int[] starts = new int[count];
+        for (int i = 0; i < count; i++) {
+            int len = SlipLedger.recordLength(body, pos, crc);
+            if (len < 0) return null;
+            starts[i] = pos;
+            pos += len;
+        }
+
+        int stored = 0;
+        int duplicates = 0;
+        List<Store> touched = new ArrayList<>();
+        for (int start : starts) {
+            LedgerEntry e = SlipLedger.decode(body, start);
+            LocalDate day = Instant.ofEpochMilli(e.timestampMillis()).atZone(zone).toLocalDate();
+            Store st = store(terminal, day);
+            if (e.sequence() <= st.lastSequence) {
+                duplicates++;
+                continue;
+            }
+            st.append(body.slice(start, body.getInt(start + 4)));
+            st.lastSequence = e.sequence();
+            if (!touched.contains(st)) touched.add(st);
+            count(terminal, day, e);
+            stored++;
+        }
+        for (Store st : touched) st.channel.force(false);
+        return new int[] { stored, duplicates };
+    }
+
+    private Store store(String terminal, LocalDate day) throws IOException {
+        String key = terminal + "/" + day;
+        Store st = stores.get(key);
+        if (st == null) {
+            st = new Store(Files.createDirectories(dir.resolve(terminal)).resolve(SlipLedger.fileName(day)));
+            stores.put(key, st);
+        }
+        return st;
+    }
+
+    // ---------------- Per terminal and day file ----------------
+    private static final class Store {
+        final FileChannel channel;
+        long lastSequence;
+
+        Store(Path file) throws IOException {
+            long[] last = { 0 };
+            int end = 0;
+            if (Files.isRegularFile(file)) {
+                end = SlipLedger.readRecords(file, 0, Integer.MAX_VALUE,
+                        r -> last[0] = SlipLedger.decode(r, 0).sequence());
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.truncate(end);   // drop a tail torn by a crash mid-write
+            channel.position(end);
+            lastSequence = last[0];
+        }
+
+        void append(ByteBuffer record) throws IOException {
+            while (record.hasRemaining()) channel.write(record);
+        }
+    }
+
+    // ---------------- Live summary ----------------
+    private void loadToday() throws IOException {
+        LocalDate day = LocalDate.now(zone);
+        summaryDay = day;
+        try (DirectoryStream<Path> terminals = Files.newDirectoryStream(dir, Files::isDirectory)) {
+            for (Path t : terminals) {
+                Path file = t.resolve(SlipLedger.fileName(day));
+                if (!Files.isRegularFile(file)) continue;
+                String terminal = t.getFileName().toString();
+                SlipLedger.read(file, e -> count(terminal, day, e));
+            }
+        }
+        changed = !today.isEmpty();
+    }
+
+    private void count(String terminal, LocalDate day, LedgerEntry e) {
+        if (!day.equals(summaryDay)) return;   // back-fill of an earlier day
+        long[] t = today.computeIfAbsent(terminal, k -> new long[3]);
+        t[0]++;
+        t[1] += e.mainGrams();
+        t[2] += e.finalAmount();
+        changed = true;
+    }
+
+    /** Today's figures, e.g. {@code 09:14:05  counter-1 42 / 310,250.000 kg / 12,34,567.00  |  ...}. */
+    synchronized String summary() {
+        StringBuilder sb = new StringBuilder(128);
+        sb.append(LocalTime.now(zone).withNano(0));
+        long slips = 0;
+        long grams = 0;
+        long paise = 0;
+        for (Map.Entry<String, long[]> e : today.entrySet()) {
+            long[] t = e.getValue();
+            sb.append("  ").append(e.getKey()).append(' ').append(t[0]).append(" / ")
+                    .append(Fixed.formatWeight(t[1])).append(" kg / ")
+                    .append(Fixed.formatMoney(t[2])).append("  |");
+            slips += t[0];
+            grams += t[1];
+            paise += t[2];
+        }
+        sb.append("  total ").append(slips).append(" / ").append(Fixed.formatWeight(grams)).append(" kg / ")
+                .append(Fixed.formatMoney(paise));
+        return sb.toString();
+    }
+
+    private void summaryLoop() {
+        while (!closed) {
+            try {
+                Thread.sleep(SUMMARY_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            String line;
+            synchronized (this) {
+                LocalDate now = LocalDate.now(zone);
+                if (!now.equals(summaryDay)) {   // midnight: start a fresh day
+                    summaryDay = now;
+                    today.clear();
+                    changed = true;
+                }
+                if (!changed) continue;
+                changed = false;
+                line = summary();
+            }
+            System.out.println("hub: " + line);
+        }
+    }
+
+    // terminal ids become directory names
+    private static String safeName(String terminal) {
+        String name = terminal.trim().replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.matches("\\.+") ? name.replace('.', '_') : name;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        server.close();
+        synchronized (this) {
+            for (Store st : stores.values()) st.channel.close();
+            stores.clear();
+        }
+    }
+}
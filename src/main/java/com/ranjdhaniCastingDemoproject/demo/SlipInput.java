@@ -0,0 +1,31 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.util.List;
+
+/**
+ * Everything the operator typed for one truck, exactly as entered.
+ * <p>
+ * {@code subweights} are the raw entries before the sentinel (blanks allowed, the last
+ * non-blank one is the dust). {@code qualities} are indexed by the allocated rows that
+ * {@link SlipCalculator#allocate} produces; the dust row's entry is ignored in favour of
+ * {@code dustDiscount}.
+ */
+record SlipInput(String truck,
+                 String mainWeight,
+                 List<String> subweights,
+                 String price1,
+                 String price2,
+                 List<String> qualities,
+                 String dustDiscount,
+                 String gst) {
+
+    SlipInput {
+        truck = truck == null ? "" : truck.trim();
+        mainWeight = mainWeight == null ? "" : mainWeight.trim();
+        subweights = subweights.stream().map(w -> w == null ? "" : w.trim()).toList();
+        price1 = price1 == null ? "" : price1.trim();
+        price2 = price2 == null ? "" : price2.trim();
+        qualities = qualities.stream().map(q -> q == null ? "" : q.trim()).toList();
+        gst = gst == null ? "" : gst.trim();
+    }
+}
@@ -0,0 +1,329 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of finalized slips, one memory-mapped file per day
+ * ({@code slips-YYYY-MM-DD.ledger}).
+ * <p>
+ * Record layout (big-endian):
+ * <pre>
+ *   int   magic          'SLP1', written last so a torn record reads as end-of-log
+ *   int   length         whole record including this header and the CRC
+ *   long  sequence       per-day, starts at 1
+ *   long  timestamp      epoch millis
+ *   byte[24] truck       UTF-8, zero padded
+ *   long  mainGrams, price1, price2, subtotal
+ *   int   discountBasisPoints
+ *   long  total, gst, finalAmount
+ *   int   rowCount
+ *   rowCount x { long grams, rate, quality, amount }   last row is dust; its quality is the discount
+ *   int   crc32          over everything from magic to the end of the rows
+ * </pre>
+ * On open the file is scanned; anything after the last record with a good CRC is zeroed,
+ * so a crash mid-append costs at most that one slip. Each record is forced to the device
+ * before {@link #append} returns, so a printed slip survives a power cut as well.
+ * <p>
+ * One writer per file: the file is locked while it is open for appending, and a second
+ * process (the desk app and {@code --batch --record}, say) gets an {@link IOException}
+ * instead of two write positions overwriting each other.
+ */
+final class SlipLedger implements Closeable {
+
+    static final int MAGIC = 0x534C5031; // "SLP1"
+    static final int TRUCK_BYTES = 24;
+    static final int HEADER_BYTES = 4 + 4 + 8 + 8 + TRUCK_BYTES + 8 * 4 + 4 + 8 * 3 + 4;
+    static final int ROW_BYTES = 8 * 4;
+    static final int CRC_BYTES = 4;
+
+    private static final int MAX_ROWS = 100_000;
+    private static final long INITIAL_MAP_BYTES = 4L << 20;
+    // one byte far past any record: Windows locks are mandatory, and readers must still map the records
+    private static final long LOCK_POSITION = Long.MAX_VALUE - 1;
+
+    private final Path dir;
+    private final ZoneId zone;
+    private final boolean syncEachRecord;
+
+    private LocalDate day;
+    private FileChannel channel;
+    private MappedByteBuffer buf;
+    private int writePos;
+    private long nextSequence;
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * @param syncEachRecord force each record to the device before returning. Without it a
+     *                       process crash is still safe (the OS owns the mapped pages);
+     *                       only a power cut can lose the last few records. Tools that write
+     *                       a whole batch and then close may pass false.
+     */
+    SlipLedger(Path dir, ZoneId zone, boolean syncEachRecord) {
+        this.dir = dir;
+        this.zone = zone;
+        this.syncEachRecord = syncEachRecord;
+    }
+
+    static SlipLedger openDefault() throws IOException {
+        return new SlipLedger(DataDirs.dir("ledger"), ZoneId.systemDefault(), true);
+    }
+
+    static String fileName(LocalDate day) {
+        return "slips-" + day + ".ledger";
+    }
+
+    /** Opens (and recovers) today's file up front instead of on the first append. */
+    synchronized void open(long nowMillis) throws IOException {
+        LocalDate today = Instant.ofEpochMilli(nowMillis).atZone(zone).toLocalDate();
+        if (!today.equals(day)) roll(today);
+    }
+
+    // ---------------- Append ----------------
+    synchronized long append(Slip slip, long timestampMillis) throws IOException {
+        LocalDate today = Instant.ofEpochMilli(timestampMillis).atZone(zone).toLocalDate();
+        if (!today.equals(day)) roll(today);
+
+        List<Slip.Row> rows = slip.rows();
+        int len = HEADER_BYTES + rows.size() * ROW_BYTES + CRC_BYTES;
+        ensureCapacity(len);
+
+        long seq = nextSequence++;
+        int p = writePos;
+
+        buf.putInt(p + 4, len);
+        buf.putLong(p + 8, seq);
+        buf.putLong(p + 16, timestampMillis);
+        putTruck(p + 24, slip.input().truck());
+        int q = p + 24 + TRUCK_BYTES;
+        buf.putLong(q, slip.mainGrams());
+        buf.putLong(q + 8, Fixed.parseMoney(slip.input().price1()));
+        buf.putLong(q + 16, Fixed.parseMoney(slip.input().price2()));
+        buf.putLong(q + 24, slip.subtotal());
+        buf.putInt(q + 32, slip.discountBasisPoints());
+        buf.putLong(q + 36, slip.total());
+        buf.putLong(q + 44, slip.gst());
+        buf.putLong(q + 52, slip.finalAmount());
+        buf.putInt(q + 60, rows.size());
+
+        int r = p + HEADER_BYTES;
+        for (Slip.Row row : rows) {
+            buf.putLong(r, row.grams());
+            buf.putLong(r + 8, row.rate());
+            buf.putLong(r + 16, row.dust() ? slip.discountBasisPoints() : Fixed.parseMoney(row.quality()));
+            buf.putLong(r + 24, row.amount());
+            r += ROW_BYTES;
+        }
+
+        // CRC covers the record with the magic already in place; the magic itself goes in last
+        buf.putInt(p, MAGIC);
+        int crcValue = crcOf(buf, p, len - CRC_BYTES);
+        buf.putInt(p, 0);
+        buf.putInt(r, crcValue);
+        buf.putInt(p, MAGIC);
+
+        writePos += len;
+        if (syncEachRecord) buf.force(p, len);
+        return seq;
+    }
+
+    Path dir() {
+        return dir;
+    }
+
+    synchronized Path currentFile() {
+        return day == null ? null : dir.resolve(fileName(day));
+    }
+
+    private void putTruck(int pos, String truck) {
+        byte[] b = truck.getBytes(StandardCharsets.UTF_8);
+        int n = Math.min(b.length, TRUCK_BYTES);
+        buf.put(pos, b, 0, n);
+        for (int i = n; i < TRUCK_BYTES; i++) buf.put(pos + i, (byte) 0);
+    }
+
+    private void ensureCapacity(int len) throws IOException {
+        if ((long) writePos + len <= buf.capacity()) return;
+        long size = buf.capacity();
+        while (size < (long) writePos + len) size *= 2;
+        if (size > Integer.MAX_VALUE) throw new IOException("ledger file full: " + currentFile());
+        buf.force();
+        buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    // ---------------- Open / recover / roll ----------------
+    private void roll(LocalDate newDay) throws IOException {
+        closeCurrent();
+
+        Path file = dir.resolve(fileName(newDay));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (!lock(channel)) {
+            channel.close();
+            channel = null;
+            day = null;
+            throw new IOException("ledger " + file + " is open in another process; close it there first");
+        }
+        long size = Math.max(channel.size(), INITIAL_MAP_BYTES);
+        buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        day = newDay;
+
+        long[] lastSeq = { 0 };
+        writePos = scan(buf, e -> lastSeq[0] = e.sequence());
+        nextSequence = lastSeq[0] + 1;
+
+        // clear a torn tail so the next record starts on zeroed space; the magic goes in
+        // last, so a torn record usually starts with zeros and has its garbage further on
+        int end = buf.capacity();
+        while (end > writePos && buf.get(end - 1) == 0) end--;
+        if (end > writePos) {
+            for (int i = writePos; i < end; i++) buf.put(i, (byte) 0);
+            buf.force();
+        }
+    }
+
+    // the lock goes when the channel closes
+    private static boolean lock(FileChannel ch) throws IOException {
+        try {
+            return ch.tryLock(LOCK_POSITION, 1, false) != null;
+        } catch (OverlappingFileLockException e) {
+            return false;   // another SlipLedger in this JVM has it
+        }
+    }
+
+    private void closeCurrent() throws IOException {
+        if (channel == null) return;
+        buf.force();
+        channel.close();
+        channel = null;
+        buf = null;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closeCurrent();
+        day = null;
+    }
+
+    // ---------------- Reading ----------------
+
+    /** Streams every intact record of one ledger file, oldest first. */
+    static void read(Path file, Consumer<LedgerEntry> sink) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() == 0) return;
+            scan(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()), sink);
+        }
+    }
+
+    /**
+     * Hands up to {@code max} intact records of one file, starting at byte {@code from}, to
+     * {@code sink} as read-only slices in the on-disk format; returns the offset just past the
+     * last one. Used to ship records as they are (see {@link HubClient}).
+     */
+    static int readRecords(Path file, int from, int max, Consumer<ByteBuffer> sink) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() <= from) return from;
+            ByteBuffer b = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            CRC32 crc = new CRC32();
+            int pos = from;
+            for (int n = 0; n < max; n++) {
+                int len = recordLength(b, pos, crc);
+                if (len < 0) break;
+                sink.accept(b.slice(pos, len).asReadOnlyBuffer());
+                pos += len;
+            }
+            return pos;
+        }
+    }
+
+    /** Ledger files in {@code dir}, oldest day first. */
+    static List<Path> files(Path dir) throws IOException {
+        List<Path> out = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return out;
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, "slips-*.ledger")) {
+            for (Path p : ds) out.add(p);
+        }
+        out.sort(null);
+        return out;
+    }
+
+    /** Walks records from the start; returns the offset just past the last good one. */
+    private static int scan(ByteBuffer b, Consumer<LedgerEntry> sink) {
+        CRC32 crc = new CRC32();
+        int pos = 0;
+
+        while (true) {
+            int len = recordLength(b, pos, crc);
+            if (len < 0) break;
+            sink.accept(decode(b, pos));
+            pos += len;
+        }
+        return pos;
+    }
+
+    /** Length of the intact record at {@code pos}, or -1 for end-of-log (torn, corrupt or zeroed). */
+    static int recordLength(ByteBuffer b, int pos, CRC32 crc) {
+        int cap = b.capacity();
+        if (pos < 0 || pos + HEADER_BYTES + CRC_BYTES > cap) return -1;
+        if (b.getInt(pos) != MAGIC) return -1;
+        int len = b.getInt(pos + 4);
+        int rows = b.getInt(pos + 24 + TRUCK_BYTES + 60);
+        if (rows < 0 || rows > MAX_ROWS) return -1;
+        if (len != HEADER_BYTES + rows * ROW_BYTES + CRC_BYTES || pos + len > cap) return -1;
+
+        crc.reset();
+        crc.update(b.slice(pos, len - CRC_BYTES));
+        if ((int) crc.getValue() != b.getInt(pos + len - CRC_BYTES)) return -1;
+        return len;
+    }
+
+    /** The record at {@code p}, which {@link #recordLength} has already checked. */
+    static LedgerEntry decode(ByteBuffer b, int p) {
+        int rows = b.getInt(p + 24 + TRUCK_BYTES + 60);
+        byte[] truck = new byte[TRUCK_BYTES];
+        b.get(p + 24, truck);
+        int tl = 0;
+        while (tl < TRUCK_BYTES && truck[tl] != 0) tl++;
+
+        long[] grams = new long[rows];
+        long[] rates = new long[rows];
+        long[] qualities = new long[rows];
+        long[] amounts = new long[rows];
+        int r = p + HEADER_BYTES;
+        for (int i = 0; i < rows; i++, r += ROW_BYTES) {
+            grams[i] = b.getLong(r);
+            rates[i] = b.getLong(r + 8);
+            qualities[i] = b.getLong(r + 16);
+            amounts[i] = b.getLong(r + 24);
+        }
+
+        int q = p + 24 + TRUCK_BYTES;
+        return new LedgerEntry(
+                b.getLong(p + 8), b.getLong(p + 16),
+                new String(truck, 0, tl, StandardCharsets.UTF_8),
+                b.getLong(q), b.getLong(q + 8), b.getLong(q + 16), b.getLong(q + 24),
+                b.getInt(q + 32), b.getLong(q + 36), b.getLong(q + 44), b.getLong(q + 52),
+                grams, rates, qualities, amounts);
+    }
+
+    private int crcOf(ByteBuffer b, int pos, int len) {
+        crc.reset();
+        crc.update(b.slice(pos, len));
+        return (int) crc.getValue();
+    }
+}
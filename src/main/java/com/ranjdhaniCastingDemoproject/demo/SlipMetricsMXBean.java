@@ -0,0 +1,25 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link Metrics}, registered as {@value Metrics#OBJECT_NAME}. Maps are keyed by
+ * stage name; times are microseconds.
+ */
+public interface SlipMetricsMXBean {
+
+    Map<String, Long> getCounts();
+
+    Map<String, Long> getMeanMicros();
+
+    Map<String, Long> getP50Micros();
+
+    Map<String, Long> getP99Micros();
+
+    Map<String, Long> getMaxMicros();
+
+    /** Writes a dump file and returns its path. */
+    String dump();
+
+    void reset();
+}
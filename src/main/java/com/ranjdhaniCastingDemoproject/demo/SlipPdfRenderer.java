@@ -0,0 +1,243 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.util.Matrix;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Draws a slip onto A4: a 260pt column centred on the page, 2cm from the top.
+ * <p>
+ * Everything that doesn't depend on the slip (column offsets, divider lengths, Helvetica
+ * glyph widths) is worked out once in the constructor. Per slip, all text goes out in a
+ * single BT/ET block with absolute positions and the three divider lines follow it, so
+ * there is one content stream and no font lookups while drawing.
+ */
+final class SlipPdfRenderer {
+
+    static final PDRectangle PAGE = PDRectangle.A4;
+
+    private static final float TOP_MARGIN = 56.69f;    // 2cm
+    private static final float SLIP_WIDTH = 260f;
+    private static final float SHORT_RULE = 60f;        // under Price 2
+    private static final float LONG_RULE = 300f;        // around the totals
+
+    private static final float HEADER_SIZE = 14f;
+    private static final float TRUCK_SIZE = 12f;
+    private static final float ROW_SIZE = 14f;
+    private static final float TOTAL_SIZE = 18f;
+    private static final float GST_SIZE = 16f;
+
+    private static final String MAIN_SEP = " \u2013 ";
+    private static final String TIMES = " \u00D7 ";
+
+    private final PDType1Font font = PDType1Font.HELVETICA;
+    private final float xLeft;
+    private final float xRight;
+    private final float xCenter;
+
+    // glyph advance per char in 1/1000 em; NaN where Helvetica/WinAnsi has no glyph
+    private final float[] widths = new float[0x2020];
+
+    SlipPdfRenderer() {
+        xLeft = (PAGE.getWidth() - SLIP_WIDTH) / 2f;
+        xRight = xLeft + SLIP_WIDTH;
+        xCenter = xLeft + SLIP_WIDTH / 2f;
+
+        for (int c = 0; c < widths.length; c++) {
+            widths[c] = Float.NaN;
+            if (c < 0x20 || (c > 0xFF && c != '\u2013' && c != '\u2014' && c != '\u2018' && c != '\u2019' && c != '\u201C' && c != '\u201D')) continue;
+            try {
+                widths[c] = font.getStringWidth(String.valueOf((char) c));
+            } catch (IllegalArgumentException | IOException e) {
+                // not encodable in WinAnsi; showText would reject it anyway
+            }
+        }
+    }
+
+    float textWidth(String s, float size) throws IOException {
+        float w = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            float g = c < widths.length ? widths[c] : Float.NaN;
+            if (Float.isNaN(g)) return font.getStringWidth(s) / 1000f * size;   // let PDFBox decide
+            w += g;
+        }
+        return w / 1000f * size;
+    }
+
+    // ---------------- Whole document ----------------
+
+    /** A one-page slip document; the caller owns (and must close) it. */
+    PDDocument render(Slip slip) throws IOException {
+        PDDocument doc = new PDDocument();
+        try {
+            PDPage page = new PDPage(PAGE);
+            doc.addPage(page);
+            try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
+                draw(cs, slip, PAGE.getHeight() - TOP_MARGIN);
+            }
+            return doc;
+        } catch (IOException | RuntimeException e) {
+            doc.close();
+            throw e;
+        }
+    }
+
+    // ---------------- One slip onto a content stream ----------------
+
+    /** Vertical space {@link #draw} takes for {@code slip}, so callers can pack slips on a page. */
+    float height(Slip slip) {
+        return height(slip, 0, slip.rows().size());
+    }
+
+    /** Vertical space of one part of a slip: rows {@code from..to-1}, see {@link #draw(PDPageContentStream, Slip, float, int, int)}. */
+    float height(Slip slip, int from, int to) {
+        SlipInput in = slip.input();
+        float h = (to - from) * (ROW_SIZE + 1);
+        if (from == 0) {
+            h += 15f;
+            if (!in.price1().isEmpty()) h += 20f;
+            if (!in.price2().isEmpty()) h += 22f;
+        }
+        if (to == slip.rows().size()) h += 14f + (TOTAL_SIZE + 2) + (GST_SIZE + 2) + 6f + 14f + (TOTAL_SIZE + 2);
+        return h;
+    }
+
+    /**
+     * Where a part starting at row {@code from} should end to fit in {@code space}: the most
+     * rows that fit, and the totals too if they fit after the last row. Always at least one
+     * row, so a caller splitting a slip over pages makes progress.
+     */
+    int rowsThatFit(Slip slip, int from, float space) {
+        int n = slip.rows().size();
+        if (height(slip, from, n) <= space) return n;
+        int to = from + 1;
+        while (to < n - 1 && height(slip, from, to + 1) <= space) to++;
+        return to;
+    }
+
+    /**
+     * Draws {@code slip} with its top at {@code top}.
+     * @return the y just below the last line drawn
+     */
+    float draw(PDPageContentStream cs, Slip slip, float top) throws IOException {
+        return draw(cs, slip, top, 0, slip.rows().size());
+    }
+
+    /**
+     * Draws rows {@code from..to-1} of {@code slip} with their top at {@code top}: the price
+     * header only with the first row, the totals only with the last. A slip taller than a page
+     * goes down as several parts.
+     * @return the y just below the last line drawn
+     */
+    float draw(PDPageContentStream cs, Slip slip, float top, int from, int to) throws IOException {
+        SlipInput in = slip.input();
+        float[] rules = new float[3];   // y of each divider, filled during the text pass
+        float y = top;
+        float size = 0;
+        boolean first = from == 0;
+        boolean last = to == slip.rows().size();
+
+        cs.beginText();
+
+        // HEADER PRICE 1 + TRUCK
+        if (first) {
+            if (!in.price1().isEmpty()) {
+                float baseline = y - 10f;
+                size = text(cs, size, HEADER_SIZE, in.price1(), xLeft, baseline);
+                if (!in.truck().isEmpty()) {
+                    size = text(cs, size, TRUCK_SIZE, in.truck(), xRight - textWidth(in.truck(), TRUCK_SIZE), baseline);
+                }
+                y -= 20f;
+            }
+
+            // Price2
+            if (!in.price2().isEmpty()) {
+                size = text(cs, size, HEADER_SIZE, in.price2(), xLeft, y - 12f);
+                y -= 22f;
+            }
+
+            rules[0] = y;
+            y -= 15f;
+        }
+
+        // SUBWEIGHT ROWS
+        List<Slip.Row> rows = slip.rows();
+        int n = rows.size();
+        float swAlignOffset = n > 0 ? textWidth(in.mainWeight() + MAIN_SEP, ROW_SIZE) : 0f;
+        StringBuilder sb = new StringBuilder(48);
+
+        for (int i = from; i < to; i++) {
+            Slip.Row row = rows.get(i);
+            sb.setLength(0);
+            float rowX = xLeft + swAlignOffset;
+
+            if (i == 0) {
+                sb.append(in.mainWeight()).append(MAIN_SEP);
+                rowX = xLeft;
+            }
+            sb.append(Fixed.floorWhole(row.grams(), Fixed.WEIGHT));
+            if (i != n - 1 || i == 0) sb.append(TIMES).append(Fixed.floorString(row.rate(), Fixed.MONEY));   // dust rate is 0: a dust-only slip reads "x 0"
+
+            size = text(cs, size, ROW_SIZE, sb.toString(), rowX, y - ROW_SIZE);
+            String q = row.quality();
+            if (q != null && !q.isEmpty()) {
+                size = text(cs, size, ROW_SIZE, q, xRight - textWidth(q, ROW_SIZE), y - ROW_SIZE);
+            }
+            y -= ROW_SIZE + 1;
+        }
+
+        if (last) {
+            rules[1] = y;
+            y -= 14f;
+
+            // TOTAL / GST CENTER
+            y = center(cs, size, TOTAL_SIZE, Fixed.floorString(slip.total(), Fixed.MONEY), y);
+            y = center(cs, TOTAL_SIZE, GST_SIZE, Fixed.floorString(slip.gst(), Fixed.MONEY), y);
+            y -= 6f;
+
+            rules[2] = y;
+            y -= 14f;
+
+            // FINAL CENTER VALUE
+            y = center(cs, GST_SIZE, TOTAL_SIZE, Fixed.floorString(slip.finalAmount(), Fixed.MONEY), y);
+        }
+
+        cs.endText();
+
+        if (first) {
+            cs.setLineWidth(1f);
+            rule(cs, rules[0], SHORT_RULE);
+        }
+        if (last) {
+            cs.setLineWidth(2f);
+            rule(cs, rules[1], LONG_RULE);
+            rule(cs, rules[2], LONG_RULE);
+        }
+        return y;
+    }
+
+    private float text(PDPageContentStream cs, float current, float size, String s, float x, float y) throws IOException {
+        if (size != current) cs.setFont(font, size);
+        cs.setTextMatrix(Matrix.getTranslateInstance(x, y));
+        cs.showText(s);
+        return size;
+    }
+
+    private float center(PDPageContentStream cs, float current, float size, String s, float y) throws IOException {
+        text(cs, current, size, s, xCenter - textWidth(s, size) / 2f, y - size);
+        return y - (size + 2);
+    }
+
+    private void rule(PDPageContentStream cs, float y, float length) throws IOException {
+        cs.moveTo(xLeft, y);
+        cs.lineTo(xLeft + length, y);
+        cs.stroke();
+    }
+}
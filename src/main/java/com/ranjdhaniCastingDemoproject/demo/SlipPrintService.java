@@ -0,0 +1,109 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import javax.print.PrintService;
+import javax.print.PrintServiceLookup;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One long-lived print thread fed by a bounded queue, plus a watcher that resolves the
+ * configured printer off the hot path. Slips are printed in the order they were submitted;
+ * {@link #submit} never blocks the caller.
+ */
+final class SlipPrintService implements AutoCloseable {
+
+    /** The work for one slip. {@code printer} is null when no printer is available. */
+    @FunctionalInterface
+    interface Task {
+        void run(PrintService printer, boolean silent) throws Exception;
+    }
+
+    private static final int QUEUE_CAPACITY = 32;
+    private static final long RECHECK_SECONDS = 60;
+
+    private final PrintSettings settings;
+    private final ThreadPoolExecutor worker;
+    private final ScheduledExecutorService watcher;
+    private volatile PrintService printer;
+    private final CountDownLatch firstLookup = new CountDownLatch(1);
+
+    SlipPrintService(PrintSettings settings) {
+        this.settings = settings;
+        this.worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), daemon("slip-printer"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.watcher = Executors.newSingleThreadScheduledExecutor(daemon("printer-watch"));
+
+        // printer lookup can take seconds on Windows; never do it on the caller's thread
+        watcher.scheduleWithFixedDelay(this::refreshPrinter, 0, RECHECK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /** @return false if the queue is full (printer stuck); the caller should tell the operator */
+    boolean submit(Task task) {
+        try {
+            worker.execute(() -> {
+                try {
+                    // the watcher's answer, never a lookup of our own: with no printer the
+                    // slip goes out as null; only the first slip waits, for the first lookup
+                    firstLookup.await();
+                    task.run(printer, settings.silent());
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    PrintSettings settings() {
+        return settings;
+    }
+
+    // ---------------- Printer resolution ----------------
+    private void refreshPrinter() {
+        try {
+            printer = resolve(settings.printerName());
+        } catch (RuntimeException e) {
+            e.printStackTrace();   // a throw would cancel the schedule; keep the last answer
+        } finally {
+            firstLookup.countDown();
+        }
+    }
+
+    static PrintService resolve(String name) {
+        if (name != null && !name.isEmpty()) {
+            PrintService[] all = PrintServiceLookup.lookupPrintServices(null, null);
+            for (PrintService s : all) if (s.getName().equalsIgnoreCase(name)) return s;
+            String lower = name.toLowerCase();
+            for (PrintService s : all) if (s.getName().toLowerCase().contains(lower)) return s;
+        }
+        return PrintServiceLookup.lookupDefaultPrintService();
+    }
+
+    @Override
+    public void close() {
+        watcher.shutdownNow();
+        worker.shutdown();
+        try {
+            worker.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
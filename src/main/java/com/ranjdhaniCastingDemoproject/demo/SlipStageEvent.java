@@ -0,0 +1,24 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one timed step of a truck's slip (see {@link Metrics.Stage}). Shows up in a
+ * recording next to GC and thread events, e.g.
+ * {@code jcmd <pid> JFR.start name=slips settings=profile} then open the file in JMC.
+ */
+@Name("com.ranjdhaniCastingDemoproject.SlipStage")
+@Label("Slip Stage")
+@Category("Rajdhani Casting")
+@Description("One step of entering or printing a slip")
+@StackTrace(false)
+final class SlipStageEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+}
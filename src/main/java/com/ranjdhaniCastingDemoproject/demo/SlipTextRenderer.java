@@ -0,0 +1,139 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+/**
+ * Lays a slip out as fixed-width lines for receipt printers: the same content and order as
+ * the PDF slip, sized to the paper instead of centred on A4.
+ * <p>
+ * In ESC/POS mode the bytes carry init, alignment, double-size totals and a partial cut;
+ * in plain text mode they are just lines ending in CR LF and a form feed. Output is ASCII
+ * so it prints on any code page (en dash and multiplication sign become "-" and "x"). Not thread-safe; the
+ * print thread owns its instance.
+ */
+final class SlipTextRenderer {
+
+    private static final byte ESC = 0x1B;
+    private static final byte GS = 0x1D;
+
+    private final int columns;
+    private final boolean escPos;
+    private boolean centred;   // plain text has no alignment command, so we pad instead
+
+    SlipTextRenderer(int columns, boolean escPos) {
+        this.columns = columns;
+        this.escPos = escPos;
+    }
+
+    static SlipTextRenderer forSettings(PrintSettings s) {
+        return new SlipTextRenderer(s.columns(), s.format() == PrintSettings.Format.ESCPOS);
+    }
+
+    byte[] render(Slip slip) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        SlipInput in = slip.input();
+        StringBuilder sb = new StringBuilder(columns);
+
+        if (escPos) cmd(out, ESC, '@');             // initialise
+        align(out, 0);
+
+        // HEADER PRICE 1 + TRUCK
+        if (!in.price1().isEmpty()) line(out, sb, in.price1(), in.truck());
+        if (!in.price2().isEmpty()) line(out, sb, in.price2(), "");
+        line(out, sb, repeat('-', Math.min(10, columns)), "");
+
+        // SUBWEIGHT ROWS
+        List<Slip.Row> rows = slip.rows();
+        int n = rows.size();
+        String mainPrefix = in.mainWeight() + " - ";
+        String indent = repeat(' ', Math.min(mainPrefix.length(), columns / 2));
+
+        for (int i = 0; i < n; i++) {
+            Slip.Row row = rows.get(i);
+            StringBuilder left = new StringBuilder(columns);
+            left.append(i == 0 ? mainPrefix : indent);
+            left.append(Fixed.floorWhole(row.grams(), Fixed.WEIGHT));
+            if (i != n - 1 || i == 0) left.append(" x ").append(Fixed.floorString(row.rate(), Fixed.MONEY));
+            line(out, sb, left.toString(), row.quality());
+        }
+
+        line(out, sb, repeat('=', columns), "");
+
+        // TOTAL / GST CENTER
+        align(out, 1);
+        big(out, true);
+        line(out, sb, Fixed.floorString(slip.total(), Fixed.MONEY), "");
+        big(out, false);
+        line(out, sb, Fixed.floorString(slip.gst(), Fixed.MONEY), "");
+        align(out, 0);
+        line(out, sb, repeat('=', columns), "");
+
+        // FINAL CENTER VALUE
+        align(out, 1);
+        big(out, true);
+        line(out, sb, Fixed.floorString(slip.finalAmount(), Fixed.MONEY), "");
+        big(out, false);
+        align(out, 0);
+
+        if (escPos) {
+            cmd(out, ESC, 'd', 4);                   // feed past the cutter
+            cmd(out, GS, 'V', 66, 0);                // partial cut
+        } else {
+            out.write('\f');
+        }
+        return out.toByteArray();
+    }
+
+    // ---------------- Line helpers ----------------
+
+    /** {@code left} then {@code right} flush to the last column; right is dropped if it won't fit. */
+    private void line(ByteArrayOutputStream out, StringBuilder sb, String left, String right) {
+        sb.setLength(0);
+        sb.append(left);
+        if (right != null && !right.isEmpty()) {
+            int pad = columns - left.length() - right.length();
+            if (pad >= 1) {
+                for (int i = 0; i < pad; i++) sb.append(' ');
+                sb.append(right);
+            } else {
+                sb.append(' ').append(right);
+            }
+        }
+        if (!escPos && centred) {
+            int pad = (columns - sb.length()) / 2;
+            for (int i = 0; i < pad; i++) sb.insert(0, ' ');
+        }
+        ascii(out, sb);
+        out.write('\r');
+        out.write('\n');
+    }
+
+    private void align(ByteArrayOutputStream out, int mode) {
+        centred = mode == 1;
+        if (escPos) cmd(out, ESC, 'a', mode);
+    }
+
+    private void big(ByteArrayOutputStream out, boolean on) {
+        if (!escPos) return;
+        cmd(out, GS, '!', on ? 0x11 : 0x00);         // double width + height
+        cmd(out, ESC, 'E', on ? 1 : 0);              // bold
+    }
+
+    private static void cmd(ByteArrayOutputStream out, int... bytes) {
+        for (int b : bytes) out.write(b);
+    }
+
+    private static void ascii(ByteArrayOutputStream out, CharSequence s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\u2013' || c == '\u2014') c = '-';
+            else if (c == '\u00D7') c = 'x';
+            out.write(c < 0x20 || c > 0x7E ? '?' : c);
+        }
+    }
+
+    private static String repeat(char c, int n) {
+        return String.valueOf(c).repeat(Math.max(0, n));
+    }
+}
@@ -0,0 +1,91 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Milestones from process start to the first printed slip, in ms since the JVM started.
+ * Once the first slip is out (or at exit if none was printed) they are appended as one line
+ * to {@code startup.log} in the data dir, e.g.
+ * <pre>
+ *   2026-10-17T09:02:11 main=180 shown=640 input=655 ui=702 warm=2310 firstSlip=41000 firstSlipMs=95
+ * </pre>
+ * so a slow terminal can be compared against others and against earlier builds.
+ * Marks can come from any thread; only the first of each kind counts.
+ */
+final class StartupTimings {
+
+    static final String FILE_NAME = "startup.log";
+
+    enum Mark {
+        MAIN,         // main() entered
+        SHOWN,        // stage visible with the truck field
+        INPUT,        // truck field focused, operator can type
+        UI,           // rest of the form built
+        WARM,         // PDF and print stack warmed on the print thread
+        FIRST_SLIP    // first slip handed to the printer (or saved)
+    }
+
+    private static final long T0 = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli).orElseGet(System::currentTimeMillis);
+
+    private static final Map<Mark, Long> marks = new EnumMap<>(Mark.class);
+    private static long firstSlipMillis = -1;   // queued -> printed, for the first slip only
+    private static boolean written;
+
+    private StartupTimings() {
+    }
+
+    static synchronized void mark(Mark mark) {
+        marks.putIfAbsent(mark, System.currentTimeMillis() - T0);
+    }
+
+    /** The first slip finished; {@code queuedNanos} is when PRINT was pressed. Writes the log line. */
+    static void firstSlip(long queuedNanos) {
+        synchronized (StartupTimings.class) {
+            if (marks.containsKey(Mark.FIRST_SLIP)) return;
+            firstSlipMillis = (System.nanoTime() - queuedNanos) / 1_000_000;
+            mark(Mark.FIRST_SLIP);
+        }
+        write();
+    }
+
+    /** Appends the milestones so far, once per run. */
+    static void write() {
+        String line;
+        synchronized (StartupTimings.class) {
+            if (written) return;
+            written = true;
+
+            StringBuilder sb = new StringBuilder(128);
+            sb.append(LocalDateTime.now().withNano(0));
+            marks.forEach((m, ms) -> sb.append(' ').append(name(m)).append('=').append(ms));
+            if (firstSlipMillis >= 0) sb.append(" firstSlipMs=").append(firstSlipMillis);
+            line = sb.append(System.lineSeparator()).toString();
+        }
+
+        try {
+            Files.createDirectories(DataDirs.root());
+            Files.writeString(DataDirs.root().resolve(FILE_NAME), line,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static String name(Mark m) {
+        return switch (m) {
+            case MAIN -> "main";
+            case SHOWN -> "shown";
+            case INPUT -> "input";
+            case UI -> "ui";
+            case WARM -> "warm";
+            case FIRST_SLIP -> "firstSlip";
+        };
+    }
+}
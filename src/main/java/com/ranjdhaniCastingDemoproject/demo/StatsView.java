@@ -0,0 +1,123 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stats screen (F10): pick a period and a grouping and read the answer as fixed-width
+ * lines, the same as {@code --stats} prints. The ledger is reloaded into {@link SlipHistory}
+ * each time the window opens, and all queries run on a background thread; the FX thread
+ * only swaps the lines in. ESC closes it.
+ */
+final class StatsView {
+
+    private static final String[] PERIODS = { "Today", "This month", "Last 30 days", "This year", "All time" };
+    private static final String[] GROUPINGS = { "truck", "day", "grade" };
+
+    private final Stage stage = new Stage();
+    private final ComboBox<String> period = new ComboBox<>();
+    private final ComboBox<String> grouping = new ComboBox<>();
+    private final Label status = new Label();
+    private final ListView<String> lines = new ListView<>();
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "stats");
+        t.setDaemon(true);
+        return t;
+    });
+    private SlipHistory history;   // worker thread only
+    private long request;          // FX thread; lets a slow answer be dropped if a newer one was asked for
+
+    StatsView(Window owner) {
+        period.getItems().addAll(PERIODS);
+        period.setValue("This month");
+        grouping.getItems().addAll(GROUPINGS);
+        grouping.setValue("truck");
+        period.valueProperty().addListener((o, ov, nv) -> query(false));
+        grouping.valueProperty().addListener((o, ov, nv) -> query(false));
+
+        lines.getStyleClass().add("stats-lines");
+        lines.setFocusTraversable(false);
+
+        HBox controls = new HBox(12, new Label("Period"), period, new Label("By"), grouping, status);
+        controls.setAlignment(Pos.CENTER_LEFT);
+        controls.setPadding(new Insets(10));
+
+        BorderPane root = new BorderPane();
+        root.setTop(controls);
+        root.setCenter(lines);
+
+        Scene scene = new Scene(root, 1100, 700);
+        scene.getStylesheets().add(Main.class.getResource("slip.css").toExternalForm());
+        scene.setOnKeyPressed(ev -> {
+            if (ev.getCode() == KeyCode.ESCAPE) stage.hide();
+        });
+        stage.initOwner(owner);
+        stage.setTitle("Slip statistics");
+        stage.setScene(scene);
+    }
+
+    void show() {
+        stage.show();
+        stage.toFront();
+        query(true);   // pick up slips printed since last time
+    }
+
+    private void query(boolean reload) {
+        long id = ++request;
+        String by = grouping.getValue();
+        LocalDate[] range = range(period.getValue());
+        status.setText("loading\u2026");
+
+        worker.execute(() -> {
+            try {
+                long t0 = System.nanoTime();
+                if (reload || history == null) history = SlipHistory.load(DataDirs.dir("ledger"));
+                SlipHistory h = history;
+                List<SlipHistory.Group> groups = switch (by) {
+                    case "day" -> h.byDay(range[0], range[1]);
+                    case "grade" -> h.byGrade(range[0], range[1]);
+                    default -> h.byTruck(range[0], range[1]);
+                };
+                List<String> text = SlipHistory.format(by, range[0], range[1], h.summary(range[0], range[1]), groups);
+                long ms = (System.nanoTime() - t0) / 1_000_000;
+
+                Platform.runLater(() -> {
+                    if (id != request) return;
+                    lines.getItems().setAll(text);
+                    status.setText(h.size() + " slips, " + ms + " ms");
+                });
+            } catch (IOException e) {
+                e.printStackTrace();
+                Platform.runLater(() -> status.setText("ledger unreadable"));
+            }
+        });
+    }
+
+    private static LocalDate[] range(String period) {
+        LocalDate today = LocalDate.now();
+        return switch (period) {
+            case "Today" -> new LocalDate[] { today, today };
+            case "Last 30 days" -> new LocalDate[] { today.minusDays(29), today };
+            case "This year" -> new LocalDate[] { today.withDayOfYear(1), today };
+            case "All time" -> new LocalDate[] { LocalDate.EPOCH, today };
+            default -> new LocalDate[] { today.withDayOfMonth(1), today };
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Past truck numbers with the rates they were last billed at, kept in a sorted map so a
+ * prefix lookup is a sub-map walk. Safe to query from the FX thread while the loader
+ * thread and the print thread are still adding to it.
+ */
+final class TruckIndex {
+
+    /** What we remember about one truck; rates and qualities are from its latest slip. */
+    record Profile(String truck, long price1, long price2, long[] qualities, int visits, long lastSeenMillis) {
+    }
+
+    private static final Comparator<Profile> BY_USE =
+            Comparator.comparingInt(Profile::visits).reversed()
+                    .thenComparing(Comparator.comparingLong(Profile::lastSeenMillis).reversed());
+
+    private final ConcurrentSkipListMap<String, Profile> byKey = new ConcurrentSkipListMap<>();
+
+    /** Normalised lookup key: upper-case, letters and digits only ("rj 14-gb" -> "RJ14GB"). */
+    static String key(String truck) {
+        if (truck == null) return "";
+        StringBuilder sb = new StringBuilder(truck.length());
+        for (int i = 0; i < truck.length(); i++) {
+            char c = truck.charAt(i);
+            if (Character.isLetterOrDigit(c)) sb.append(Character.toUpperCase(c));
+        }
+        return sb.toString();
+    }
+
+    // ---------------- Loading ----------------
+
+    /**
+     * Fills the index from the ledger on a daemon thread so startup never waits for it.
+     * Slips recorded while this runs are added live and skipped here.
+     */
+    void loadAsync(Path ledgerDir) {
+        long cutoff = System.currentTimeMillis();
+        Thread t = new Thread(() -> {
+            try {
+                for (Path f : SlipLedger.files(ledgerDir)) {
+                    SlipLedger.read(f, e -> {
+                        if (e.timestampMillis() < cutoff) add(e);
+                    });
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }, "truck-index-loader");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        t.start();
+    }
+
+    // ---------------- Updates ----------------
+    void add(LedgerEntry e) {
+        // the dust row's quality column holds the discount, not a premium
+        long[] q = Arrays.copyOf(e.qualities(), Math.max(0, e.rowCount() - 1));
+        add(e.truck(), e.price1(), e.price2(), q, e.timestampMillis());
+    }
+
+    void add(Slip slip, long timestampMillis) {
+        List<Slip.Row> rows = slip.rows();
+        long[] q = new long[Math.max(0, rows.size() - 1)];
+        for (int i = 0; i < q.length; i++) q[i] = Fixed.parseMoney(rows.get(i).quality());
+        add(slip.input().truck(), Fixed.parseMoney(slip.input().price1()),
+                Fixed.parseMoney(slip.input().price2()), q, timestampMillis);
+    }
+
+    void add(String truck, long price1, long price2, long[] qualities, long timestampMillis) {
+        String k = key(truck);
+        if (k.isEmpty()) return;
+        Profile fresh = new Profile(truck.trim(), price1, price2, qualities, 1, timestampMillis);
+        byKey.merge(k, fresh, (old, in) -> {
+            Profile newer = in.lastSeenMillis() >= old.lastSeenMillis() ? in : old;
+            return new Profile(newer.truck(), newer.price1(), newer.price2(), newer.qualities(),
+                    old.visits() + 1, newer.lastSeenMillis());
+        });
+    }
+
+    // ---------------- Queries ----------------
+    Profile lookup(String truck) {
+        String k = key(truck);
+        return k.isEmpty() ? null : byKey.get(k);
+    }
+
+    /** Up to {@code limit} trucks starting with {@code prefix}, most frequent first. */
+    List<Profile> suggest(String prefix, int limit) {
+        String k = key(prefix);
+        if (k.isEmpty()) return List.of();
+
+        NavigableMap<String, Profile> range = byKey.subMap(k, true, k + Character.MAX_VALUE, false);
+        List<Profile> out = new ArrayList<>();
+        for (Map.Entry<String, Profile> e : range.entrySet()) out.add(e.getValue());
+        out.sort(BY_USE);
+        return out.size() > limit ? out.subList(0, limit) : out;
+    }
+
+    int size() {
+        return byKey.size();
+    }
+}
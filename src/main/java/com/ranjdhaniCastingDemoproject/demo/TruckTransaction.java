@@ -0,0 +1,107 @@
+package com.ranjdhaniCastingDemoproject.demo;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One truck open at the counter. The window shows one transaction at a time. The others are
+ * parked here: their {@link SlipForm}, plus the text of each field and where the cursor was.
+ * Switching trucks saves the visible one into its transaction and rebinds the same pooled
+ * nodes to the next one, so an open truck costs a few strings and no nodes.
+ * The same snapshot is what {@link EntryJournal} writes after each ENTER, so a truck can be
+ * rebuilt after a restart. FX thread only.
+ */
+final class TruckTransaction {
+
+    /** Which field had the focus; {@link #focusIndex} picks the row for LIVE and QUALITY. */
+    enum Focus { TRUCK, MAIN, LIVE, PRICE1, PRICE2, QUALITY, GST, PRINT }
+
+    final int number;          // 1, 2, 3... for the tab label until a truck number is typed
+    final SlipForm form = new SlipForm();
+
+    // field text while parked; the model above already holds the parsed values
+    String truck = "";
+    String mainWeight = "";
+    String price1 = "";
+    String price2 = "";
+    String gst = "";
+    String discount = "1.5";
+    final List<String> live = new ArrayList<>();        // sub-weights typed so far, before the sentinel
+    final List<String> qualities = new ArrayList<>();   // per priced row, after the sentinel
+    final List<String> raw = new ArrayList<>();         // sub-weights the sentinel finished, if it was entered
+    boolean finished;
+    TruckIndex.Profile profile;
+
+    boolean totalsShown;
+    boolean buttonsShown;
+    Focus focus = Focus.TRUCK;
+    int focusIndex;
+
+    TruckTransaction(int number) {
+        this.number = number;
+    }
+
+    String label(String truckText) {
+        return truckText == null || truckText.isBlank() ? "Truck " + number : truckText.trim();
+    }
+
+    // ---------------- Journal snapshot ----------------
+
+    void write(DataOutput out) throws IOException {
+        out.writeInt(number);
+        out.writeUTF(truck);
+        out.writeUTF(mainWeight);
+        out.writeUTF(price1);
+        out.writeUTF(price2);
+        out.writeUTF(gst);
+        out.writeUTF(discount == null ? "" : discount);
+        writeList(out, live);
+        writeList(out, qualities);
+        writeList(out, raw);
+        out.writeBoolean(finished);
+        out.writeBoolean(totalsShown);
+        out.writeBoolean(buttonsShown);
+        out.writeByte(focus.ordinal());
+        out.writeInt(focusIndex);
+    }
+
+    /** A parked truck from a journal snapshot, with its {@link SlipForm} worked out again. */
+    static TruckTransaction read(DataInput in) throws IOException {
+        TruckTransaction t = new TruckTransaction(in.readInt());
+        t.truck = in.readUTF();
+        t.mainWeight = in.readUTF();
+        t.price1 = in.readUTF();
+        t.price2 = in.readUTF();
+        t.gst = in.readUTF();
+        t.discount = in.readUTF();
+        readList(in, t.live);
+        readList(in, t.qualities);
+        readList(in, t.raw);
+        t.finished = in.readBoolean();
+        t.totalsShown = in.readBoolean();
+        t.buttonsShown = in.readBoolean();
+        Focus[] foci = Focus.values();
+        t.focus = foci[Math.min(in.readUnsignedByte(), foci.length - 1)];
+        t.focusIndex = in.readInt();
+
+        if (t.finished) t.form.finishSubweights(t.mainWeight, t.raw);
+        t.form.setPrice1(Fixed.parseMoney(t.price1));
+        t.form.setPrice2(Fixed.parseMoney(t.price2));
+        for (int i = 0; i < t.qualities.size(); i++) t.form.setQuality(i, Fixed.parseMoney(t.qualities.get(i)));
+        t.form.setDiscount(t.discount);
+        return t;
+    }
+
+    private static void writeList(DataOutput out, List<String> list) throws IOException {
+        out.writeShort(list.size());
+        for (String s : list) out.writeUTF(s);
+    }
+
+    private static void readList(DataInput in, List<String> list) throws IOException {
+        int n = in.readUnsignedShort();
+        for (int i = 0; i < n; i++) list.add(in.readUTF());
+    }
+}